@@ -3,21 +3,32 @@ package com.openclassrooms.tourguide;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import gpsUtil.location.Attraction;
 import gpsUtil.location.VisitedLocation;
 
+import com.openclassrooms.tourguide.dto.FieldSelection;
+import com.openclassrooms.tourguide.dto.LocationHistoryResponse;
+import com.openclassrooms.tourguide.dto.ProviderResponse;
+import com.openclassrooms.tourguide.dto.UserRewardResponse;
+import com.openclassrooms.tourguide.dto.VisitedLocationResponse;
+import com.openclassrooms.tourguide.service.RewardsLeaderboard;
 import com.openclassrooms.tourguide.service.TourGuideService;
+import com.openclassrooms.tourguide.user.LocationHistory;
 import com.openclassrooms.tourguide.user.User;
-import com.openclassrooms.tourguide.user.UserReward;
-
-import tripPricer.Provider;
 
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class TourGuideController {
+	private static final int MAX_HISTORY_PAGE_SIZE = 1000;
+	private static final int MAX_LEADERBOARD_SIZE = 100;
 
 	@Autowired
 	TourGuideService tourGuideService;
@@ -28,8 +39,9 @@ public class TourGuideController {
     }
     
     @RequestMapping("/getLocation") 
-    public VisitedLocation getLocation(@RequestParam String userName) {
-    	return tourGuideService.getUserLocation(getUser(userName));
+    public VisitedLocationResponse getLocation(@RequestParam String userName,
+    		@RequestParam(required = false) String fields) {
+    	return new VisitedLocationResponse(tourGuideService.getUserLocation(getUser(userName)), FieldSelection.parse(fields));
     }
     
     //  TODO: Change this method to no longer return a List of Attractions.
@@ -43,18 +55,54 @@ public class TourGuideController {
         //    Note: Attraction reward points can be gathered from RewardsCentral
     @RequestMapping("/getNearbyAttractions") 
     public List<Attraction> getNearbyAttractions(@RequestParam String userName) {
-    	VisitedLocation visitedLocation = tourGuideService.getUserLocation(getUser(userName));
-    	return tourGuideService.getNearByAttractions(visitedLocation);
+    	User user = getUser(userName);
+    	VisitedLocation visitedLocation = tourGuideService.getUserLocation(user);
+    	return tourGuideService.getNearByAttractions(user, visitedLocation);
     }
     
     @RequestMapping("/getRewards") 
-    public List<UserReward> getRewards(@RequestParam String userName) {
-    	return tourGuideService.getUserRewards(getUser(userName));
+    public List<UserRewardResponse> getRewards(@RequestParam String userName,
+    		@RequestParam(required = false) String fields) {
+    	FieldSelection fieldSelection = FieldSelection.parse(fields);
+    	return tourGuideService.getUserRewards(getUser(userName)).stream()
+    			.map(r -> new UserRewardResponse(r, fieldSelection)).toList();
     }
        
     @RequestMapping("/getTripDeals")
-    public List<Provider> getTripDeals(@RequestParam String userName) {
-    	return tourGuideService.getTripDeals(getUser(userName));
+    public List<ProviderResponse> getTripDeals(@RequestParam String userName,
+    		@RequestParam(required = false) String fields) {
+    	FieldSelection fieldSelection = FieldSelection.parse(fields);
+    	return tourGuideService.getTripDeals(getUser(userName)).stream()
+    			.map(p -> new ProviderResponse(p, fieldSelection)).toList();
+    }
+    
+    @RequestMapping("/getLocationHistory")
+    public LocationHistoryResponse getLocationHistory(@RequestParam String userName,
+    		@RequestParam(required = false) Long from, @RequestParam(required = false) Long to,
+    		@RequestParam(defaultValue = "100") int limit, @RequestParam(required = false) String cursor,
+    		@RequestParam(required = false) String fields) {
+    	try {
+    		LocationHistory.Page page = tourGuideService.getLocationHistory(getUser(userName),
+    				from != null ? from : Long.MIN_VALUE, to != null ? to : Long.MAX_VALUE, cursor,
+    				Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE)));
+    		return new LocationHistoryResponse(page, FieldSelection.parse(fields));
+    	} catch (IllegalArgumentException e) {
+    		throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    	}
+    }
+    
+    @RequestMapping("/getLeaderboard")
+    public List<RewardsLeaderboard.Entry> getLeaderboard(@RequestParam(defaultValue = "10") int limit,
+    		@RequestParam(defaultValue = "false") boolean local) {
+    	int size = Math.max(1, Math.min(limit, MAX_LEADERBOARD_SIZE));
+    	if (local) {
+    		return tourGuideService.getLocalLeaderboard(size);
+    	}
+    	try {
+    		return tourGuideService.getLeaderboard(size);
+    	} catch (IllegalStateException e) {
+    		throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    	}
     }
     
     private User getUser(String userName) {
@@ -1,23 +1,48 @@
 package com.openclassrooms.tourguide;
 
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import gpsUtil.GpsUtil;
 import rewardCentral.RewardCentral;
+import tripPricer.TripPricer;
+import com.openclassrooms.tourguide.helper.ConcurrencyHelper;
+import com.openclassrooms.tourguide.helper.DependencyLimiters;
 import com.openclassrooms.tourguide.service.RewardsService;
+import com.openclassrooms.tourguide.tracker.TrackerSettings;
 
 @Configuration
 public class TourGuideModule {
 	
+	@Bean
+	public DependencyLimiters getDependencyLimiters(@Value("${tourguide.limits.gps-util:100}") int gpsUtilPermits,
+			@Value("${tourguide.limits.reward-central:100}") int rewardCentralPermits,
+			@Value("${tourguide.limits.trip-pricer:50}") int tripPricerPermits) {
+		return new DependencyLimiters(gpsUtilPermits, rewardCentralPermits, tripPricerPermits);
+	}
+	
+	@Bean
+	public TrackerSettings getTrackerSettings(@Value("${tourguide.virtual-threads.enabled:false}") boolean virtualThreads,
+			@Value("${tourguide.tracker.threads:100}") int trackerThreads,
+			@Value("${tourguide.tracker.checkpoint-file:}") String checkpointFile,
+			@Value("${tourguide.tracker.drain-timeout-seconds:30}") long drainTimeoutSeconds,
+			@Value("${tourguide.tracker.interval-seconds:300}") long intervalSeconds) {
+		return new TrackerSettings(virtualThreads, trackerThreads, checkpointFile.isBlank() ? null : checkpointFile,
+				drainTimeoutSeconds, intervalSeconds);
+	}
+	
 	@Bean
 	public GpsUtil getGpsUtil() {
 		return new GpsUtil();
 	}
 	
 	@Bean
-	public RewardsService getRewardsService() {
-		return new RewardsService(getGpsUtil(), getRewardCentral());
+	public RewardsService getRewardsService(DependencyLimiters dependencyLimiters) {
+		return new RewardsService(getGpsUtil(), getRewardCentral(), dependencyLimiters);
 	}
 	
 	@Bean
@@ -25,4 +50,15 @@ public class TourGuideModule {
 		return new RewardCentral();
 	}
 	
+	@Bean
+	public TripPricer getTripPricer() {
+		return new TripPricer();
+	}
+	
+	@Bean
+	@ConditionalOnProperty(name = "tourguide.virtual-threads.enabled", havingValue = "true")
+	public TomcatProtocolHandlerCustomizer<ProtocolHandler> getVirtualThreadProtocolHandlerCustomizer() {
+		return protocolHandler -> protocolHandler.setExecutor(ConcurrencyHelper.newExecutor(true, 200));
+	}
+	
 }
@@ -0,0 +1,84 @@
+package com.openclassrooms.tourguide.cluster;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.openclassrooms.tourguide.service.RewardsLeaderboard;
+
+/**
+ * Builds the cluster-wide leaderboard: each node only ranks the users it
+ * owns, so the top entries of every other node are fetched concurrently and
+ * merged with the local ones.
+ */
+public class ClusterLeaderboard {
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+	private final ClusterMembership clusterMembership;
+	private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	public ClusterLeaderboard(ClusterMembership clusterMembership) {
+		this.clusterMembership = clusterMembership;
+	}
+
+	/**
+	 * Merges this node's top entries with those of the other nodes.
+	 *
+	 * @throws IllegalStateException if a node cannot be reached, rather than
+	 *                               returning a ranking missing its users
+	 */
+	public List<RewardsLeaderboard.Entry> merge(List<RewardsLeaderboard.Entry> localEntries, int limit) {
+		Map<String, CompletableFuture<List<RewardsLeaderboard.Entry>>> remoteEntries = clusterMembership.getNodes()
+				.stream().filter(node -> !node.equals(clusterMembership.getSelf()))
+				.collect(Collectors.toMap(node -> node, node -> fetch(node, limit)));
+
+		List<RewardsLeaderboard.Entry> entries = new ArrayList<>(localEntries);
+		for (Map.Entry<String, CompletableFuture<List<RewardsLeaderboard.Entry>>> remote : remoteEntries.entrySet()) {
+			try {
+				entries.addAll(remote.getValue().join());
+			} catch (CompletionException e) {
+				throw new IllegalStateException("Leaderboard of node " + remote.getKey() + " is unavailable",
+						e.getCause());
+			}
+		}
+		return entries.stream()
+				.sorted(RewardsLeaderboard.RANKING)
+				.limit(limit).toList();
+	}
+
+	private CompletableFuture<List<RewardsLeaderboard.Entry>> fetch(String node, int limit) {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(node + "/getLeaderboard?local=true&limit=" + limit))
+				.header("Accept", "application/json").timeout(TIMEOUT).build();
+		return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).thenApply(response -> {
+			if (response.statusCode() != 200) {
+				throw new IllegalStateException("HTTP " + response.statusCode());
+			}
+			return parse(response.body());
+		});
+	}
+
+	private List<RewardsLeaderboard.Entry> parse(byte[] body) {
+		try {
+			List<RewardsLeaderboard.Entry> entries = new ArrayList<>();
+			for (JsonNode entry : objectMapper.readTree(body)) {
+				entries.add(new RewardsLeaderboard.Entry(null, entry.get("userName").asText(),
+						entry.get("rewardPoints").asInt()));
+			}
+			return entries;
+		} catch (IOException e) {
+			throw new IllegalStateException("Malformed leaderboard", e);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.openclassrooms.tourguide.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Static membership of a TourGuide cluster. Users are assigned to nodes by
+ * consistent hashing of their userName, so adding or removing a node only moves
+ * the users of the neighbouring ring segments. The userName is what every
+ * request carries, so the owner of a user is known even to nodes that have
+ * never seen it.
+ *
+ * Nodes are identified by their base URL, which is also where requests for
+ * their users are redirected. With no nodes configured, this node owns every
+ * user.
+ */
+public class ClusterMembership {
+	private static final int VIRTUAL_NODES_PER_NODE = 128;
+	private final String self;
+	private final NavigableMap<Long, String> ring = new TreeMap<>();
+	private final List<String> nodes;
+
+	public ClusterMembership(List<String> nodes, String self) {
+		this.self = normalize(self);
+		this.nodes = nodes.stream().map(ClusterMembership::normalize).distinct().toList();
+		for (String node : nodes) {
+			for (int i = 0; i < VIRTUAL_NODES_PER_NODE; i++) {
+				ring.put(hash(normalize(node) + "#" + i), normalize(node));
+			}
+		}
+		if (!ring.isEmpty() && !ring.containsValue(this.self)) {
+			throw new IllegalArgumentException("Node " + self + " is not part of the cluster " + nodes);
+		}
+	}
+
+	public static ClusterMembership singleNode() {
+		return new ClusterMembership(List.of(), "");
+	}
+
+	public boolean isClustered() {
+		return !ring.isEmpty();
+	}
+
+	public List<String> getNodes() {
+		return nodes;
+	}
+
+	public String getSelf() {
+		return self;
+	}
+
+	public String getOwner(String userName) {
+		if (ring.isEmpty()) {
+			return self;
+		}
+		Map.Entry<Long, String> owner = ring.ceilingEntry(hash(userName));
+		return (owner != null ? owner : ring.firstEntry()).getValue();
+	}
+
+	public boolean isOwnedLocally(String userName) {
+		return self.equals(getOwner(userName));
+	}
+
+	private static String normalize(String node) {
+		String trimmed = node.trim();
+		return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+	}
+
+	private static long hash(String key) {
+		try {
+			byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+			long hash = 0;
+			for (int i = 0; i < 8; i++) {
+				hash = (hash << 8) | (digest[i] & 0xff);
+			}
+			return hash;
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("MD5 is not available", e);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.openclassrooms.tourguide.cluster;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ClusterModule {
+
+	@Bean
+	public ClusterMembership getClusterMembership(@Value("${tourguide.cluster.nodes:}") String nodes,
+			@Value("${tourguide.cluster.self:}") String self) {
+		List<String> nodeList = Arrays.stream(nodes.split(",")).filter(node -> !node.isBlank()).toList();
+		return new ClusterMembership(nodeList, self);
+	}
+
+	@Configuration
+	@ConditionalOnWebApplication(type = Type.SERVLET)
+	static class ServletShardRouting implements WebMvcConfigurer {
+		private final ClusterMembership clusterMembership;
+
+		ServletShardRouting(ClusterMembership clusterMembership) {
+			this.clusterMembership = clusterMembership;
+		}
+
+		@Override
+		public void addInterceptors(InterceptorRegistry registry) {
+			registry.addInterceptor(new ShardRedirectInterceptor(clusterMembership));
+		}
+	}
+
+	@Configuration
+	@ConditionalOnWebApplication(type = Type.REACTIVE)
+	static class ReactiveShardRouting {
+
+		@Bean
+		public WebFilter getShardRedirectWebFilter(ClusterMembership clusterMembership) {
+			return new ShardRedirectWebFilter(clusterMembership);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.openclassrooms.tourguide.cluster;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Redirects requests about a user owned by another node to that node, keeping
+ * the path and query string.
+ */
+public class ShardRedirectInterceptor implements HandlerInterceptor {
+	private final ClusterMembership clusterMembership;
+
+	public ShardRedirectInterceptor(ClusterMembership clusterMembership) {
+		this.clusterMembership = clusterMembership;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		String owner = getRemoteOwner(clusterMembership, request.getParameter("userName"));
+		if (owner == null) {
+			return true;
+		}
+		String query = request.getQueryString();
+		response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+		response.setHeader(HttpHeaders.LOCATION, owner + request.getRequestURI() + (query != null ? "?" + query : ""));
+		return false;
+	}
+
+	/**
+	 * Returns the base URL of the node owning the named user, or null when the
+	 * request can be served here. Users unknown here are redirected too, since
+	 * they may have been added on their owner.
+	 */
+	static String getRemoteOwner(ClusterMembership clusterMembership, String userName) {
+		if (userName == null || !clusterMembership.isClustered()) {
+			return null;
+		}
+		String owner = clusterMembership.getOwner(userName);
+		return clusterMembership.getSelf().equals(owner) ? null : owner;
+	}
+}
@@ -0,0 +1,37 @@
+package com.openclassrooms.tourguide.cluster;
+
+import java.net.URI;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of ShardRedirectInterceptor.
+ */
+public class ShardRedirectWebFilter implements WebFilter {
+	private final ClusterMembership clusterMembership;
+
+	public ShardRedirectWebFilter(ClusterMembership clusterMembership) {
+		this.clusterMembership = clusterMembership;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		ServerHttpRequest request = exchange.getRequest();
+		String owner = ShardRedirectInterceptor.getRemoteOwner(clusterMembership, request.getQueryParams().getFirst("userName"));
+		if (owner == null) {
+			return chain.filter(exchange);
+		}
+		String query = request.getURI().getRawQuery();
+		ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.TEMPORARY_REDIRECT);
+		response.getHeaders().setLocation(URI.create(owner + request.getURI().getRawPath() + (query != null ? "?" + query : "")));
+		return response.setComplete();
+	}
+}
@@ -0,0 +1,41 @@
+package com.openclassrooms.tourguide.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Jackson2CborEncoder encodes single values only and rejects every publisher,
+ * which is what WebFlux hands it even for a Mono body. A Mono is encoded as
+ * its value, a Flux as a CBOR array of its elements.
+ */
+class CborValueEncoder extends Jackson2CborEncoder {
+
+	CborValueEncoder(ObjectMapper cborMapper) {
+		super(cborMapper, MediaType.APPLICATION_CBOR);
+	}
+
+	@Override
+	public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+			ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+		if (inputStream instanceof Mono) {
+			return Mono.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
+					.flux();
+		}
+		ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+		return Flux.from(inputStream).collectList()
+				.map(list -> encodeValue(list, bufferFactory, listType, mimeType, hints)).flux();
+	}
+}
@@ -0,0 +1,29 @@
+package com.openclassrooms.tourguide.dto;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields requested through the optional ?fields= parameter. Without that
+ * parameter every field is included; unknown field names are ignored.
+ */
+public class FieldSelection {
+	private static final FieldSelection ALL = new FieldSelection(null);
+	private final Set<String> fields;
+
+	private FieldSelection(Set<String> fields) {
+		this.fields = fields;
+	}
+
+	public static FieldSelection parse(String fields) {
+		if (fields == null || fields.isBlank()) {
+			return ALL;
+		}
+		return new FieldSelection(Arrays.stream(fields.split(",")).map(String::trim).collect(Collectors.toSet()));
+	}
+
+	public boolean includes(String field) {
+		return fields == null || fields.contains(field);
+	}
+}
@@ -0,0 +1,27 @@
+package com.openclassrooms.tourguide.dto;
+
+import java.util.List;
+
+import com.openclassrooms.tourguide.user.LocationHistory;
+
+/**
+ * One page of a user's location history, with the cursor to pass back to get
+ * the next page.
+ */
+public class LocationHistoryResponse {
+	private final List<VisitedLocationResponse> locations;
+	private final String nextCursor;
+
+	public LocationHistoryResponse(LocationHistory.Page page, FieldSelection fields) {
+		this.locations = page.getLocations().stream().map(l -> new VisitedLocationResponse(l, fields)).toList();
+		this.nextCursor = page.getNextCursor();
+	}
+
+	public List<VisitedLocationResponse> getLocations() {
+		return locations;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+}
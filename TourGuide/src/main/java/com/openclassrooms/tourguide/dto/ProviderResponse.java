@@ -0,0 +1,28 @@
+package com.openclassrooms.tourguide.dto;
+
+import tripPricer.Provider;
+
+/**
+ * Response body for a trip deal. Serialized by ResponseSerializers.
+ */
+public class ProviderResponse {
+	public static final String NAME = "name";
+	public static final String PRICE = "price";
+	public static final String TRIP_ID = "tripId";
+
+	private final Provider provider;
+	private final FieldSelection fields;
+
+	public ProviderResponse(Provider provider, FieldSelection fields) {
+		this.provider = provider;
+		this.fields = fields;
+	}
+
+	public Provider getProvider() {
+		return provider;
+	}
+
+	public FieldSelection getFields() {
+		return fields;
+	}
+}
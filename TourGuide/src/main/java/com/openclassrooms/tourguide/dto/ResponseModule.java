@@ -0,0 +1,48 @@
+package com.openclassrooms.tourguide.dto;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Registers the response serializers with the application's ObjectMappers and
+ * lets clients ask for CBOR instead of JSON with "Accept: application/cbor".
+ */
+@Configuration
+public class ResponseModule {
+
+	@Bean
+	public Module getResponseSerializers() {
+		return new ResponseSerializers();
+	}
+
+	@Bean
+	@ConditionalOnWebApplication(type = Type.SERVLET)
+	public MappingJackson2CborHttpMessageConverter getCborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	/**
+	 * Custom codecs are tried before the default ones, and the first writer
+	 * wins when the client accepts anything. The JSON encoder is registered
+	 * again ahead of the CBOR one so JSON stays the default.
+	 */
+	@Bean
+	@ConditionalOnWebApplication(type = Type.REACTIVE)
+	public CodecCustomizer getCborCodecCustomizer(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+		ObjectMapper cborMapper = builder.factory(new CBORFactory()).build();
+		return configurer -> {
+			configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+			configurer.customCodecs().register(new CborValueEncoder(cborMapper));
+		};
+	}
+}
@@ -0,0 +1,115 @@
+package com.openclassrooms.tourguide.dto;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import gpsUtil.location.VisitedLocation;
+import tripPricer.Provider;
+
+import com.openclassrooms.tourguide.user.UserReward;
+
+/**
+ * Hand-written serializers for the response DTOs, registered once with every
+ * ObjectMapper of the application. They write only the selected fields
+ * straight from the underlying objects, without bean introspection.
+ */
+public class ResponseSerializers extends SimpleModule {
+
+	public ResponseSerializers() {
+		super("TourGuideResponses");
+		addSerializer(VisitedLocationResponse.class, new VisitedLocationSerializer());
+		addSerializer(UserRewardResponse.class, new UserRewardSerializer());
+		addSerializer(ProviderResponse.class, new ProviderSerializer());
+	}
+
+	static class VisitedLocationSerializer extends StdSerializer<VisitedLocationResponse> {
+
+		VisitedLocationSerializer() {
+			super(VisitedLocationResponse.class);
+		}
+
+		@Override
+		public void serialize(VisitedLocationResponse value, JsonGenerator gen, SerializerProvider provider)
+				throws IOException {
+			VisitedLocation visitedLocation = value.getVisitedLocation();
+			FieldSelection fields = value.getFields();
+			gen.writeStartObject();
+			if (fields.includes(VisitedLocationResponse.LATITUDE)) {
+				gen.writeNumberField(VisitedLocationResponse.LATITUDE, visitedLocation.location.latitude);
+			}
+			if (fields.includes(VisitedLocationResponse.LONGITUDE)) {
+				gen.writeNumberField(VisitedLocationResponse.LONGITUDE, visitedLocation.location.longitude);
+			}
+			if (fields.includes(VisitedLocationResponse.TIME_VISITED)) {
+				gen.writeNumberField(VisitedLocationResponse.TIME_VISITED, visitedLocation.timeVisited.getTime());
+			}
+			gen.writeEndObject();
+		}
+	}
+
+	static class UserRewardSerializer extends StdSerializer<UserRewardResponse> {
+
+		UserRewardSerializer() {
+			super(UserRewardResponse.class);
+		}
+
+		@Override
+		public void serialize(UserRewardResponse value, JsonGenerator gen, SerializerProvider provider)
+				throws IOException {
+			UserReward userReward = value.getUserReward();
+			FieldSelection fields = value.getFields();
+			gen.writeStartObject();
+			if (fields.includes(UserRewardResponse.ATTRACTION_NAME)) {
+				gen.writeStringField(UserRewardResponse.ATTRACTION_NAME, userReward.attraction.attractionName);
+			}
+			if (fields.includes(UserRewardResponse.CITY)) {
+				gen.writeStringField(UserRewardResponse.CITY, userReward.attraction.city);
+			}
+			if (fields.includes(UserRewardResponse.STATE)) {
+				gen.writeStringField(UserRewardResponse.STATE, userReward.attraction.state);
+			}
+			if (fields.includes(UserRewardResponse.REWARD_POINTS)) {
+				gen.writeNumberField(UserRewardResponse.REWARD_POINTS, userReward.getRewardPoints());
+			}
+			if (fields.includes(UserRewardResponse.VISITED_LATITUDE)) {
+				gen.writeNumberField(UserRewardResponse.VISITED_LATITUDE, userReward.visitedLocation.location.latitude);
+			}
+			if (fields.includes(UserRewardResponse.VISITED_LONGITUDE)) {
+				gen.writeNumberField(UserRewardResponse.VISITED_LONGITUDE, userReward.visitedLocation.location.longitude);
+			}
+			if (fields.includes(UserRewardResponse.TIME_VISITED)) {
+				gen.writeNumberField(UserRewardResponse.TIME_VISITED, userReward.visitedLocation.timeVisited.getTime());
+			}
+			gen.writeEndObject();
+		}
+	}
+
+	static class ProviderSerializer extends StdSerializer<ProviderResponse> {
+
+		ProviderSerializer() {
+			super(ProviderResponse.class);
+		}
+
+		@Override
+		public void serialize(ProviderResponse value, JsonGenerator gen, SerializerProvider provider)
+				throws IOException {
+			Provider tripProvider = value.getProvider();
+			FieldSelection fields = value.getFields();
+			gen.writeStartObject();
+			if (fields.includes(ProviderResponse.NAME)) {
+				gen.writeStringField(ProviderResponse.NAME, tripProvider.name);
+			}
+			if (fields.includes(ProviderResponse.PRICE)) {
+				gen.writeNumberField(ProviderResponse.PRICE, tripProvider.price);
+			}
+			if (fields.includes(ProviderResponse.TRIP_ID)) {
+				gen.writeStringField(ProviderResponse.TRIP_ID, tripProvider.tripId.toString());
+			}
+			gen.writeEndObject();
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package com.openclassrooms.tourguide.dto;
+
+import com.openclassrooms.tourguide.user.UserReward;
+
+/**
+ * Flat response body for a user reward: the attraction is reduced to its name,
+ * city and state, and the visited location to its coordinates and epoch
+ * millis, instead of the full nested objects and their UUIDs. Serialized by
+ * ResponseSerializers.
+ */
+public class UserRewardResponse {
+	public static final String ATTRACTION_NAME = "attractionName";
+	public static final String CITY = "city";
+	public static final String STATE = "state";
+	public static final String REWARD_POINTS = "rewardPoints";
+	public static final String VISITED_LATITUDE = "visitedLatitude";
+	public static final String VISITED_LONGITUDE = "visitedLongitude";
+	public static final String TIME_VISITED = "timeVisited";
+
+	private final UserReward userReward;
+	private final FieldSelection fields;
+
+	public UserRewardResponse(UserReward userReward, FieldSelection fields) {
+		this.userReward = userReward;
+		this.fields = fields;
+	}
+
+	public UserReward getUserReward() {
+		return userReward;
+	}
+
+	public FieldSelection getFields() {
+		return fields;
+	}
+}
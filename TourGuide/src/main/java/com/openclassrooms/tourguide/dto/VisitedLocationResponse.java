@@ -0,0 +1,29 @@
+package com.openclassrooms.tourguide.dto;
+
+import gpsUtil.location.VisitedLocation;
+
+/**
+ * Response body for a visited location: coordinates and epoch millis, without
+ * the user id the caller already knows. Serialized by ResponseSerializers.
+ */
+public class VisitedLocationResponse {
+	public static final String LATITUDE = "latitude";
+	public static final String LONGITUDE = "longitude";
+	public static final String TIME_VISITED = "timeVisited";
+
+	private final VisitedLocation visitedLocation;
+	private final FieldSelection fields;
+
+	public VisitedLocationResponse(VisitedLocation visitedLocation, FieldSelection fields) {
+		this.visitedLocation = visitedLocation;
+		this.fields = fields;
+	}
+
+	public VisitedLocation getVisitedLocation() {
+		return visitedLocation;
+	}
+
+	public FieldSelection getFields() {
+		return fields;
+	}
+}
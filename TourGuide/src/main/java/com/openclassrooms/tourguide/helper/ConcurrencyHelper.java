@@ -0,0 +1,96 @@
+package com.openclassrooms.tourguide.helper;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Defaults for services created outside of the Spring context, which get
+ * their settings from TourGuideModule's beans instead.
+ */
+public class ConcurrencyHelper {
+	private static Logger logger = LoggerFactory.getLogger(ConcurrencyHelper.class);
+
+	// Run Tracker tasks on virtual threads
+	private static boolean virtualThreads = false;
+	// Pool size used for Tracker tasks when running on platform threads
+	private static int trackerThreads = 100;
+	// Maximum number of concurrent calls to each downstream library
+	private static int gpsUtilPermits = 100;
+	private static int rewardCentralPermits = 100;
+	private static int tripPricerPermits = 50;
+
+	public static void setVirtualThreads(boolean virtualThreads) {
+		ConcurrencyHelper.virtualThreads = virtualThreads;
+	}
+
+	public static boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	public static void setTrackerThreads(int trackerThreads) {
+		ConcurrencyHelper.trackerThreads = trackerThreads;
+	}
+
+	public static int getTrackerThreads() {
+		return trackerThreads;
+	}
+
+	public static void setGpsUtilPermits(int gpsUtilPermits) {
+		ConcurrencyHelper.gpsUtilPermits = gpsUtilPermits;
+	}
+
+	public static int getGpsUtilPermits() {
+		return gpsUtilPermits;
+	}
+
+	public static void setRewardCentralPermits(int rewardCentralPermits) {
+		ConcurrencyHelper.rewardCentralPermits = rewardCentralPermits;
+	}
+
+	public static int getRewardCentralPermits() {
+		return rewardCentralPermits;
+	}
+
+	public static void setTripPricerPermits(int tripPricerPermits) {
+		ConcurrencyHelper.tripPricerPermits = tripPricerPermits;
+	}
+
+	public static int getTripPricerPermits() {
+		return tripPricerPermits;
+	}
+
+	/**
+	 * Creates a virtual-thread-per-task executor when virtual threads are enabled
+	 * and the JVM supports them, or a fixed pool of platform threads otherwise.
+	 *
+	 * The project still targets Java 17, so the Java 21 factory is looked up
+	 * reflectively.
+	 */
+	public static ExecutorService newExecutor(int platformThreads) {
+		return newExecutor(virtualThreads, platformThreads);
+	}
+
+	public static ExecutorService newExecutor(boolean virtualThreads, int platformThreads) {
+		if (virtualThreads) {
+			try {
+				return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			} catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+				logger.warn("Virtual threads are not available on this JVM, falling back to platform threads");
+			}
+		}
+		return Executors.newFixedThreadPool(platformThreads);
+	}
+
+	public static boolean isVirtualThreadsSupported() {
+		try {
+			Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package com.openclassrooms.tourguide.helper;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of concurrent calls made to a blocking downstream library.
+ * With virtual threads the number of callers is no longer bounded by a pool
+ * size, so the real concurrency towards each dependency is bounded here.
+ */
+public class DependencyLimiter {
+	private final Semaphore permits;
+
+	public DependencyLimiter(int maxConcurrentCalls) {
+		this.permits = new Semaphore(maxConcurrentCalls, true);
+	}
+
+	/**
+	 * Runs the call once a permit is available.
+	 *
+	 * @throws IllegalStateException if the thread is interrupted while waiting
+	 *                               for a permit; the interrupt flag is restored
+	 *                               and the call is not made
+	 */
+	public <T> T call(Supplier<T> call) {
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a permit", e);
+		}
+		try {
+			return call.get();
+		} finally {
+			permits.release();
+		}
+	}
+
+	public int availablePermits() {
+		return permits.availablePermits();
+	}
+}
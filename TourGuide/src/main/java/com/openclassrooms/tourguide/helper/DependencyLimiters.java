@@ -0,0 +1,38 @@
+package com.openclassrooms.tourguide.helper;
+
+/**
+ * The limiters of the three downstream libraries, shared by every service
+ * calling them so each cap holds across the whole application.
+ */
+public class DependencyLimiters {
+	private final DependencyLimiter gpsUtil;
+	private final DependencyLimiter rewardCentral;
+	private final DependencyLimiter tripPricer;
+
+	public DependencyLimiters(int gpsUtilPermits, int rewardCentralPermits, int tripPricerPermits) {
+		this.gpsUtil = new DependencyLimiter(gpsUtilPermits);
+		this.rewardCentral = new DependencyLimiter(rewardCentralPermits);
+		this.tripPricer = new DependencyLimiter(tripPricerPermits);
+	}
+
+	/**
+	 * Limiters sized from ConcurrencyHelper, for services created outside of
+	 * the Spring context.
+	 */
+	public static DependencyLimiters fromConcurrencyHelper() {
+		return new DependencyLimiters(ConcurrencyHelper.getGpsUtilPermits(), ConcurrencyHelper.getRewardCentralPermits(),
+				ConcurrencyHelper.getTripPricerPermits());
+	}
+
+	public DependencyLimiter getGpsUtil() {
+		return gpsUtil;
+	}
+
+	public DependencyLimiter getRewardCentral() {
+		return rewardCentral;
+	}
+
+	public DependencyLimiter getTripPricer() {
+		return tripPricer;
+	}
+}
@@ -0,0 +1,37 @@
+package com.openclassrooms.tourguide.helper;
+
+import java.util.concurrent.TimeUnit;
+
+public class TrackerHelper {
+
+	// File recording the users tracked in the current round, null to keep it in memory only
+	private static String checkpointFile = null;
+	// How long stopping the Tracker waits for in-flight tracking to finish
+	private static long drainTimeoutSeconds = 30;
+	// Pause between the end of a tracking round and the start of the next one
+	private static long intervalSeconds = TimeUnit.MINUTES.toSeconds(5);
+
+	public static void setCheckpointFile(String checkpointFile) {
+		TrackerHelper.checkpointFile = checkpointFile;
+	}
+
+	public static String getCheckpointFile() {
+		return checkpointFile;
+	}
+
+	public static void setDrainTimeoutSeconds(long drainTimeoutSeconds) {
+		TrackerHelper.drainTimeoutSeconds = drainTimeoutSeconds;
+	}
+
+	public static long getDrainTimeoutSeconds() {
+		return drainTimeoutSeconds;
+	}
+
+	public static void setIntervalSeconds(long intervalSeconds) {
+		TrackerHelper.intervalSeconds = intervalSeconds;
+	}
+
+	public static long getIntervalSeconds() {
+		return intervalSeconds;
+	}
+}
@@ -0,0 +1,103 @@
+package com.openclassrooms.tourguide.reactive;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import gpsUtil.location.Attraction;
+import reactor.core.publisher.Mono;
+
+import com.openclassrooms.tourguide.dto.FieldSelection;
+import com.openclassrooms.tourguide.dto.LocationHistoryResponse;
+import com.openclassrooms.tourguide.dto.ProviderResponse;
+import com.openclassrooms.tourguide.dto.UserRewardResponse;
+import com.openclassrooms.tourguide.dto.VisitedLocationResponse;
+import com.openclassrooms.tourguide.service.RewardsLeaderboard;
+import com.openclassrooms.tourguide.user.User;
+
+/**
+ * WebFlux counterpart of TourGuideController, exposing the same routes. Only
+ * active when the application runs as a reactive web application, see
+ * application-reactive.properties.
+ */
+@RestController
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveTourGuideController {
+	private static final int MAX_HISTORY_PAGE_SIZE = 1000;
+	private static final int MAX_LEADERBOARD_SIZE = 100;
+
+	@Autowired
+	ReactiveTourGuideService reactiveTourGuideService;
+	
+    @RequestMapping("/")
+    public Mono<String> index() {
+        return Mono.just("Greetings from TourGuide!");
+    }
+    
+    @RequestMapping("/getLocation") 
+    public Mono<VisitedLocationResponse> getLocation(@RequestParam String userName,
+    		@RequestParam(required = false) String fields) {
+    	FieldSelection fieldSelection = FieldSelection.parse(fields);
+    	return getUser(userName).flatMap(reactiveTourGuideService::getUserLocation)
+    			.map(l -> new VisitedLocationResponse(l, fieldSelection));
+    }
+    
+    @RequestMapping("/getNearbyAttractions") 
+    public Mono<List<Attraction>> getNearbyAttractions(@RequestParam String userName) {
+    	return getUser(userName).flatMap(reactiveTourGuideService::getNearByAttractions);
+    }
+    
+    @RequestMapping("/getRewards") 
+    public Mono<List<UserRewardResponse>> getRewards(@RequestParam String userName,
+    		@RequestParam(required = false) String fields) {
+    	FieldSelection fieldSelection = FieldSelection.parse(fields);
+    	return getUser(userName).flatMap(reactiveTourGuideService::getUserRewards)
+    			.map(rewards -> rewards.stream().map(r -> new UserRewardResponse(r, fieldSelection)).toList());
+    }
+       
+    @RequestMapping("/getTripDeals")
+    public Mono<List<ProviderResponse>> getTripDeals(@RequestParam String userName,
+    		@RequestParam(required = false) String fields) {
+    	FieldSelection fieldSelection = FieldSelection.parse(fields);
+    	return getUser(userName).flatMap(reactiveTourGuideService::getTripDeals)
+    			.map(providers -> providers.stream().map(p -> new ProviderResponse(p, fieldSelection)).toList());
+    }
+    
+    @RequestMapping("/getLocationHistory")
+    public Mono<LocationHistoryResponse> getLocationHistory(@RequestParam String userName,
+    		@RequestParam(required = false) Long from, @RequestParam(required = false) Long to,
+    		@RequestParam(defaultValue = "100") int limit, @RequestParam(required = false) String cursor,
+    		@RequestParam(required = false) String fields) {
+    	FieldSelection fieldSelection = FieldSelection.parse(fields);
+    	return getUser(userName)
+    			.flatMap(user -> reactiveTourGuideService.getLocationHistory(user, from != null ? from : Long.MIN_VALUE,
+    					to != null ? to : Long.MAX_VALUE, cursor, Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE))))
+    			.map(page -> new LocationHistoryResponse(page, fieldSelection))
+    			.onErrorMap(IllegalArgumentException.class,
+    					e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+    
+    @RequestMapping("/getLeaderboard")
+    public Mono<List<RewardsLeaderboard.Entry>> getLeaderboard(@RequestParam(defaultValue = "10") int limit,
+    		@RequestParam(defaultValue = "false") boolean local) {
+    	int size = Math.max(1, Math.min(limit, MAX_LEADERBOARD_SIZE));
+    	if (local) {
+    		return reactiveTourGuideService.getLocalLeaderboard(size);
+    	}
+    	return reactiveTourGuideService.getLeaderboard(size).onErrorMap(IllegalStateException.class,
+    			e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+    
+    private Mono<User> getUser(String userName) {
+    	return reactiveTourGuideService.getUser(userName)
+    			.switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown user " + userName)));
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.openclassrooms.tourguide.reactive;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Service;
+
+import gpsUtil.location.Attraction;
+import gpsUtil.location.VisitedLocation;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import com.openclassrooms.tourguide.service.RewardsLeaderboard;
+import com.openclassrooms.tourguide.service.TourGuideService;
+import com.openclassrooms.tourguide.user.LocationHistory;
+import com.openclassrooms.tourguide.user.User;
+import com.openclassrooms.tourguide.user.UserReward;
+
+import tripPricer.Provider;
+
+/**
+ * Non-blocking adapter over TourGuideService for the WebFlux variant.
+ *
+ * gpsUtil, RewardCentral and TripPricer only offer blocking calls, so location
+ * tracking (a gpsUtil lookup followed by the RewardCentral reward calculation)
+ * and trip pricing each run on their own bounded scheduler. A slow dependency
+ * then queues its own work instead of starving the event loop or the other
+ * dependencies. The calls still go through TourGuideService, and so through
+ * its per-dependency limiters.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveTourGuideService {
+	private static final int QUEUED_TASK_CAP = 100_000;
+	private final TourGuideService tourGuideService;
+	private final Scheduler gpsScheduler;
+	private final Scheduler tripPricerScheduler;
+
+	public ReactiveTourGuideService(TourGuideService tourGuideService,
+			@Value("${tourguide.reactive.gps-threads:100}") int gpsThreads,
+			@Value("${tourguide.reactive.trip-pricer-threads:50}") int tripPricerThreads) {
+		this.tourGuideService = tourGuideService;
+		gpsScheduler = Schedulers.newBoundedElastic(gpsThreads, QUEUED_TASK_CAP, "gpsUtil");
+		tripPricerScheduler = Schedulers.newBoundedElastic(tripPricerThreads, QUEUED_TASK_CAP, "tripPricer");
+	}
+
+	public Mono<User> getUser(String userName) {
+		return Mono.justOrEmpty(tourGuideService.getUser(userName));
+	}
+
+	public Mono<VisitedLocation> getUserLocation(User user) {
+		VisitedLocation lastVisitedLocation = user.getLastVisitedLocation();
+		return lastVisitedLocation != null ? Mono.just(lastVisitedLocation) : trackUserLocation(user);
+	}
+
+	public Mono<VisitedLocation> trackUserLocation(User user) {
+		return Mono.fromCallable(() -> tourGuideService.trackUserLocation(user)).subscribeOn(gpsScheduler);
+	}
+
+	public Mono<List<Attraction>> getNearByAttractions(User user) {
+		return getUserLocation(user)
+				.flatMap(visitedLocation -> Mono
+						.fromCallable(() -> tourGuideService.getNearByAttractions(user, visitedLocation))
+						.subscribeOn(gpsScheduler));
+	}
+
+	public Mono<LocationHistory.Page> getLocationHistory(User user, long from, long to, String cursor, int limit) {
+		return Mono.fromCallable(() -> tourGuideService.getLocationHistory(user, from, to, cursor, limit));
+	}
+
+	public Mono<List<UserReward>> getUserRewards(User user) {
+		return Mono.fromSupplier(() -> tourGuideService.getUserRewards(user));
+	}
+
+	public Mono<List<Provider>> getTripDeals(User user) {
+		return Mono.fromCallable(() -> tourGuideService.getTripDeals(user)).subscribeOn(tripPricerScheduler);
+	}
+
+	public Mono<List<RewardsLeaderboard.Entry>> getLeaderboard(int limit) {
+		// May wait on the other nodes of the cluster
+		return Mono.fromCallable(() -> tourGuideService.getLeaderboard(limit)).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	public Mono<List<RewardsLeaderboard.Entry>> getLocalLeaderboard(int limit) {
+		return Mono.fromSupplier(() -> tourGuideService.getLocalLeaderboard(limit));
+	}
+
+	@PreDestroy
+	public void dispose() {
+		gpsScheduler.dispose();
+		tripPricerScheduler.dispose();
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.openclassrooms.tourguide.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import gpsUtil.location.Attraction;
+import gpsUtil.location.Location;
+
+/**
+ * Radius-bounded lookup of the attractions around a location.
+ *
+ * Attractions are kept sorted by latitude so a query only looks at the
+ * latitude band the radius can reach. Candidate lists are cached per grid
+ * cell and power-of-two radius bucket, then filtered exactly per query.
+ */
+public class AttractionIndex {
+	private static final int MAX_CACHED_CELLS = 100_000;
+
+	private final List<Attraction> attractions;
+	private final Integer[] catalogPositionsByLatitude;
+	private final double[] latitudes;
+	private final RewardsService rewardsService;
+	private final Map<Long, List<Attraction>> candidateCache = new ConcurrentHashMap<>();
+
+	public AttractionIndex(List<Attraction> attractions, RewardsService rewardsService) {
+		this.attractions = new ArrayList<>(attractions);
+		this.rewardsService = rewardsService;
+		catalogPositionsByLatitude = new Integer[attractions.size()];
+		Arrays.setAll(catalogPositionsByLatitude, i -> i);
+		Arrays.sort(catalogPositionsByLatitude, Comparator.comparingDouble(i -> attractions.get(i).latitude));
+		latitudes = Arrays.stream(catalogPositionsByLatitude).mapToDouble(i -> attractions.get(i).latitude).toArray();
+	}
+
+	/**
+	 * Returns the attractions lying within the given range, in miles, of the
+	 * location.
+	 */
+	public List<Attraction> getAttractionsWithin(Location location, int range) {
+		List<Attraction> attractionsWithin = new ArrayList<>();
+		for (Attraction attraction : getCandidates(location, range)) {
+			if (!rewardsService.isWithinRange(attraction, location, range)) {
+				continue;
+			}
+			attractionsWithin.add(attraction);
+		}
+		return attractionsWithin;
+	}
+
+	public boolean isBuiltFor(List<Attraction> attractions) {
+		return isSameCatalog(this.attractions, attractions);
+	}
+
+	/**
+	 * Compares two attraction catalogs by name and position since gpsUtil hands
+	 * out new instances on every call.
+	 */
+	static boolean isSameCatalog(List<Attraction> built, List<Attraction> current) {
+		if (built.size() != current.size()) {
+			return false;
+		}
+		for (int i = 0; i < current.size(); i++) {
+			Attraction a = built.get(i);
+			Attraction b = current.get(i);
+			if (!a.attractionName.equals(b.attractionName) || a.latitude != b.latitude || a.longitude != b.longitude) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private List<Attraction> getCandidates(Location location, int range) {
+		int radiusBucket = range <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(range - 1);
+		int cell = AttractionProximityGrid.cellIndex(location);
+		long key = ((long) cell << 5) | radiusBucket;
+
+		List<Attraction> candidates = candidateCache.get(key);
+		if (candidates == null) {
+			if (candidateCache.size() >= MAX_CACHED_CELLS) {
+				candidateCache.clear();
+			}
+			candidates = findCandidates(cell, Math.pow(2, radiusBucket) + AttractionProximityGrid.CELL_HALF_DIAGONAL_MILES);
+			candidateCache.put(key, candidates);
+		}
+		return candidates;
+	}
+
+	private List<Attraction> findCandidates(int cell, double reach) {
+		Location center = AttractionProximityGrid.cellCenter(cell);
+		double latitudeSpan = reach / AttractionProximityGrid.STATUTE_MILES_PER_DEGREE;
+
+		List<Integer> candidatePositions = new ArrayList<>();
+		for (int i = lowerBound(center.latitude - latitudeSpan); i < latitudes.length
+				&& latitudes[i] <= center.latitude + latitudeSpan; i++) {
+			if (!rewardsService.isWithinRange(attractions.get(catalogPositionsByLatitude[i]), center, reach)) {
+				continue;
+			}
+			candidatePositions.add(catalogPositionsByLatitude[i]);
+		}
+		// Keep the catalog order so results look like a filtered gpsUtil list
+		candidatePositions.sort(null);
+		return candidatePositions.stream().map(attractions::get).toList();
+	}
+
+	private int lowerBound(double latitude) {
+		int low = 0;
+		int high = latitudes.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (latitudes[mid] < latitude) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+}
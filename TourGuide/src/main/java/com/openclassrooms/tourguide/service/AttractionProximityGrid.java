@@ -0,0 +1,110 @@
+package com.openclassrooms.tourguide.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import gpsUtil.location.Attraction;
+import gpsUtil.location.Location;
+
+/**
+ * Coarse lookup table of the latitude/longitude cells lying within a given
+ * proximity buffer of at least one attraction.
+ *
+ * A cleared bit means no location in that cell can be near any attraction, so
+ * the per-attraction distance checks can be skipped. A set bit only means the
+ * location might be near one and must still be checked exactly.
+ */
+public class AttractionProximityGrid {
+	private static final int CELLS_PER_DEGREE = 4;
+	private static final int LATITUDE_CELLS = 180 * CELLS_PER_DEGREE;
+	private static final int LONGITUDE_CELLS = 360 * CELLS_PER_DEGREE;
+	static final double STATUTE_MILES_PER_DEGREE = 69.0468;
+	// Largest distance from a cell center to any point of the cell (at the equator)
+	static final double CELL_HALF_DIAGONAL_MILES = Math.sqrt(2) / 2 / CELLS_PER_DEGREE
+			* STATUTE_MILES_PER_DEGREE;
+
+	private final int proximityBuffer;
+	private final List<Attraction> attractions;
+	private final BitSet cells = new BitSet(LATITUDE_CELLS * LONGITUDE_CELLS);
+
+	public AttractionProximityGrid(int proximityBuffer, List<Attraction> attractions, RewardsService rewardsService) {
+		this.proximityBuffer = proximityBuffer;
+		this.attractions = new ArrayList<>(attractions);
+
+		double reach = proximityBuffer + CELL_HALF_DIAGONAL_MILES;
+		if (reach >= Math.PI * 3959) {
+			// The buffer covers the whole globe
+			cells.set(0, LATITUDE_CELLS * LONGITUDE_CELLS);
+			return;
+		}
+		for (Attraction attraction : attractions) {
+			markCells(attraction, reach, rewardsService);
+		}
+	}
+
+	/**
+	 * Returns false when the location is certainly outside the buffer of every
+	 * attraction.
+	 */
+	public boolean mayBeNearAttraction(Location location) {
+		return cells.get(cellIndex(location));
+	}
+
+	/**
+	 * Tells whether this grid was built for the given buffer and attraction
+	 * catalog.
+	 */
+	public boolean isBuiltFor(int proximityBuffer, List<Attraction> attractions) {
+		return this.proximityBuffer == proximityBuffer && AttractionIndex.isSameCatalog(this.attractions, attractions);
+	}
+
+	private void markCells(Attraction attraction, double reach, RewardsService rewardsService) {
+		double latitudeSpan = reach / STATUTE_MILES_PER_DEGREE;
+		double minLatitude = Math.max(-90, attraction.latitude - latitudeSpan);
+		double maxLatitude = Math.min(90, attraction.latitude + latitudeSpan);
+		double widestLatitude = Math.max(Math.abs(minLatitude), Math.abs(maxLatitude));
+		double longitudeSpan = latitudeSpan / Math.cos(Math.toRadians(widestLatitude));
+		boolean wholeRow = widestLatitude >= 89 || longitudeSpan >= 180;
+
+		int fromLongitudeCell = wholeRow ? 0 : longitudeCell(attraction.longitude - longitudeSpan);
+		int cellCount = wholeRow ? LONGITUDE_CELLS
+				: (int) Math.ceil(2 * longitudeSpan * CELLS_PER_DEGREE) + 2;
+
+		for (int row = latitudeCell(minLatitude); row <= latitudeCell(maxLatitude); row++) {
+			double cellLatitude = -90 + (row + 0.5) / CELLS_PER_DEGREE;
+			for (int i = 0; i < cellCount; i++) {
+				int column = Math.floorMod(fromLongitudeCell + i, LONGITUDE_CELLS);
+				double cellLongitude = -180 + (column + 0.5) / CELLS_PER_DEGREE;
+				if (!rewardsService.isWithinRange(attraction, new Location(cellLatitude, cellLongitude), reach)) {
+					continue;
+				}
+				cells.set(cellIndex(row, column));
+			}
+		}
+	}
+
+	static int cellIndex(Location location) {
+		return cellIndex(latitudeCell(location.latitude), longitudeCell(location.longitude));
+	}
+
+	static Location cellCenter(int cellIndex) {
+		int row = cellIndex / LONGITUDE_CELLS;
+		int column = cellIndex % LONGITUDE_CELLS;
+		return new Location(-90 + (row + 0.5) / CELLS_PER_DEGREE, -180 + (column + 0.5) / CELLS_PER_DEGREE);
+	}
+
+	private static int latitudeCell(double latitude) {
+		int cell = (int) Math.floor((latitude + 90) * CELLS_PER_DEGREE);
+		return Math.min(Math.max(cell, 0), LATITUDE_CELLS - 1);
+	}
+
+	private static int longitudeCell(double longitude) {
+		return Math.floorMod((int) Math.floor((longitude + 180) * CELLS_PER_DEGREE), LONGITUDE_CELLS);
+	}
+
+	private static int cellIndex(int row, int column) {
+		return row * LONGITUDE_CELLS + column;
+	}
+
+}
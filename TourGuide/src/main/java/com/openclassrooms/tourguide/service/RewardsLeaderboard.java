@@ -0,0 +1,64 @@
+package com.openclassrooms.tourguide.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import com.openclassrooms.tourguide.user.User;
+
+/**
+ * Users ranked by cumulative reward points, kept sorted as rewards come in so
+ * the top of the ranking can be read without sorting every user.
+ */
+public class RewardsLeaderboard {
+	/**
+	 * Most points first, ties broken by userName, which is unique and also known
+	 * for the entries of other cluster nodes.
+	 */
+	public static final Comparator<Entry> RANKING = Comparator.comparingInt(Entry::getRewardPoints).reversed()
+			.thenComparing(Entry::getUserName);
+	private final NavigableSet<Entry> ranking = new ConcurrentSkipListSet<>(RANKING);
+	private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Moves the user to the position matching their current points.
+	 */
+	public void update(User user) {
+		synchronized (user) {
+			Entry entry = new Entry(user.getUserId(), user.getUserName(), user.getCumulativeRewardPoints());
+			Entry previous = entries.put(user.getUserId(), entry);
+			if (previous != null) {
+				ranking.remove(previous);
+			}
+			ranking.add(entry);
+		}
+	}
+
+	public List<Entry> getTop(int limit) {
+		return ranking.stream().limit(limit).toList();
+	}
+
+	public static class Entry {
+		private final UUID userId;
+		private final String userName;
+		private final int rewardPoints;
+
+		public Entry(UUID userId, String userName, int rewardPoints) {
+			this.userId = userId;
+			this.userName = userName;
+			this.rewardPoints = rewardPoints;
+		}
+
+		public String getUserName() {
+			return userName;
+		}
+
+		public int getRewardPoints() {
+			return rewardPoints;
+		}
+	}
+}
@@ -1,7 +1,11 @@
 package com.openclassrooms.tourguide.service;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import gpsUtil.GpsUtil;
@@ -9,6 +13,8 @@ import gpsUtil.location.Attraction;
 import gpsUtil.location.Location;
 import gpsUtil.location.VisitedLocation;
 import rewardCentral.RewardCentral;
+import com.openclassrooms.tourguide.helper.DependencyLimiters;
+import com.openclassrooms.tourguide.user.AttractionOrdinals;
 import com.openclassrooms.tourguide.user.User;
 import com.openclassrooms.tourguide.user.UserReward;
 
@@ -22,10 +28,29 @@ public class RewardsService {
 	private int attractionProximityRange = 200;
 	private final GpsUtil gpsUtil;
 	private final RewardCentral rewardsCentral;
+	private final DependencyLimiters dependencyLimiters;
+	private volatile AttractionProximityGrid proximityGrid;
+	private volatile AttractionIndex attractionIndex;
+	private final RewardsLeaderboard leaderboard = new RewardsLeaderboard();
+	// gpsUtil.getAttractions is rate limited, so the catalog is only refetched this often
+	private static final long ATTRACTION_CATALOG_REFRESH_MILLIS = TimeUnit.HOURS.toMillis(1);
+	private volatile List<Attraction> attractions;
+	private volatile long attractionsFetchedAt;
+	private final Lock attractionsLock = new ReentrantLock();
 	
 	public RewardsService(GpsUtil gpsUtil, RewardCentral rewardCentral) {
+		this(gpsUtil, rewardCentral, DependencyLimiters.fromConcurrencyHelper());
+	}
+	
+	@Autowired
+	public RewardsService(GpsUtil gpsUtil, RewardCentral rewardCentral, DependencyLimiters dependencyLimiters) {
 		this.gpsUtil = gpsUtil;
 		this.rewardsCentral = rewardCentral;
+		this.dependencyLimiters = dependencyLimiters;
+	}
+	
+	public DependencyLimiters getDependencyLimiters() {
+		return dependencyLimiters;
 	}
 	
 	public void setProximityBuffer(int proximityBuffer) {
@@ -38,29 +63,111 @@ public class RewardsService {
 	
 	public void calculateRewards(User user) {
 		List<VisitedLocation> userLocations = user.getVisitedLocations();
-		List<Attraction> attractions = gpsUtil.getAttractions();
+		List<Attraction> attractions = getAttractions();
+		AttractionProximityGrid grid = getProximityGrid(attractions);
+		AttractionIndex index = getAttractionIndex(attractions);
+		int rewardRange = Math.min(proximityBuffer, user.getUserPreferences().getAttractionProximity());
+		int rewardCount = user.getUserRewards().size();
 		
 		for(VisitedLocation visitedLocation : userLocations) {
-			for(Attraction attraction : attractions) {
-				if(user.getUserRewards().stream().filter(r -> r.attraction.attractionName.equals(attraction.attractionName)).count() == 0) {
-					if(nearAttraction(visitedLocation, attraction)) {
-						user.addUserReward(new UserReward(visitedLocation, attraction, getRewardPoints(attraction, user)));
-					}
+			if(!grid.mayBeNearAttraction(visitedLocation.location)) {
+				continue;
+			}
+			for(Attraction attraction : index.getAttractionsWithin(visitedLocation.location, rewardRange)) {
+				if(!user.hasRewardFor(attraction)) {
+					user.addUserReward(new UserReward(visitedLocation, attraction, getRewardPoints(attraction, user)));
 				}
 			}
 		}
+		if(user.getUserRewards().size() != rewardCount) {
+			leaderboard.update(user);
+		}
+	}
+	
+	public List<RewardsLeaderboard.Entry> getLeaderboard(int limit) {
+		return leaderboard.getTop(limit);
+	}
+	
+	/**
+	 * Returns the attractions within the user's own proximity preference of the
+	 * location, capped by the global attraction proximity range.
+	 */
+	public List<Attraction> getNearByAttractions(Location location, User user) {
+		return getNearByAttractions(location, getAttractionProximityRange(user));
+	}
+	
+	/**
+	 * Returns the attractions within the global attraction proximity range of
+	 * the location, for callers that have no user at hand.
+	 */
+	public List<Attraction> getNearByAttractions(Location location) {
+		return getNearByAttractions(location, attractionProximityRange);
+	}
+	
+	private List<Attraction> getNearByAttractions(Location location, int range) {
+		return getAttractionIndex(getAttractions()).getAttractionsWithin(location, range);
+	}
+	
+	public int getAttractionProximityRange(User user) {
+		return Math.min(attractionProximityRange, user.getUserPreferences().getAttractionProximity());
+	}
+	
+	/**
+	 * Returns the attraction catalog, fetched from gpsUtil through its limiter by
+	 * a single caller at most once per refresh interval.
+	 */
+	private List<Attraction> getAttractions() {
+		List<Attraction> catalog = attractions;
+		if(catalog != null && System.currentTimeMillis() - attractionsFetchedAt < ATTRACTION_CATALOG_REFRESH_MILLIS) {
+			return catalog;
+		}
+		// A lock rather than synchronized, which would pin a virtual thread during the gpsUtil call
+		attractionsLock.lock();
+		try {
+			if(attractions == null || System.currentTimeMillis() - attractionsFetchedAt >= ATTRACTION_CATALOG_REFRESH_MILLIS) {
+				attractions = dependencyLimiters.getGpsUtil().call(gpsUtil::getAttractions);
+				attractionsFetchedAt = System.currentTimeMillis();
+			}
+			return attractions;
+		} finally {
+			attractionsLock.unlock();
+		}
+	}
+	
+	/**
+	 * Returns the reward-eligibility grid for the current proximity buffer,
+	 * rebuilding it when the buffer or the attraction catalog has changed.
+	 */
+	private AttractionProximityGrid getProximityGrid(List<Attraction> attractions) {
+		AttractionProximityGrid grid = proximityGrid;
+		int buffer = proximityBuffer;
+		if(grid == null || !grid.isBuiltFor(buffer, attractions)) {
+			grid = new AttractionProximityGrid(buffer, attractions, this);
+			proximityGrid = grid;
+		}
+		return grid;
+	}
+	
+	private AttractionIndex getAttractionIndex(List<Attraction> attractions) {
+		AttractionIndex index = attractionIndex;
+		if(index == null || !index.isBuiltFor(attractions)) {
+			index = new AttractionIndex(attractions, this);
+			AttractionOrdinals.register(attractions);
+			attractionIndex = index;
+		}
+		return index;
 	}
 	
 	public boolean isWithinAttractionProximity(Attraction attraction, Location location) {
-		return getDistance(attraction, location) > attractionProximityRange ? false : true;
+		return isWithinRange(attraction, location, attractionProximityRange);
 	}
 	
-	private boolean nearAttraction(VisitedLocation visitedLocation, Attraction attraction) {
-		return getDistance(attraction, visitedLocation.location) > proximityBuffer ? false : true;
+	boolean isWithinRange(Location loc1, Location loc2, double range) {
+		return getDistance(loc1, loc2) > range ? false : true;
 	}
 	
 	private int getRewardPoints(Attraction attraction, User user) {
-		return rewardsCentral.getAttractionRewardPoints(attraction.attractionId, user.getUserId());
+		return dependencyLimiters.getRewardCentral().call(() -> rewardsCentral.getAttractionRewardPoints(attraction.attractionId, user.getUserId()));
 	}
 	
 	public double getDistance(Location loc1, Location loc2) {
@@ -1,13 +1,19 @@
 package com.openclassrooms.tourguide.service;
 
+import com.openclassrooms.tourguide.cluster.ClusterLeaderboard;
+import com.openclassrooms.tourguide.cluster.ClusterMembership;
+import com.openclassrooms.tourguide.helper.DependencyLimiter;
+import com.openclassrooms.tourguide.helper.DependencyLimiters;
 import com.openclassrooms.tourguide.helper.InternalTestHelper;
 import com.openclassrooms.tourguide.tracker.Tracker;
+import com.openclassrooms.tourguide.tracker.TrackerSettings;
+import com.openclassrooms.tourguide.user.LocationHistory;
 import com.openclassrooms.tourguide.user.User;
 import com.openclassrooms.tourguide.user.UserReward;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -20,6 +26,7 @@ import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import gpsUtil.GpsUtil;
@@ -35,13 +42,35 @@ public class TourGuideService {
 	private Logger logger = LoggerFactory.getLogger(TourGuideService.class);
 	private final GpsUtil gpsUtil;
 	private final RewardsService rewardsService;
-	private final TripPricer tripPricer = new TripPricer();
+	private final TripPricer tripPricer;
+	private final DependencyLimiter gpsUtilLimiter;
+	private final DependencyLimiter tripPricerLimiter;
+	private final ClusterMembership clusterMembership;
+	private final ClusterLeaderboard clusterLeaderboard;
 	public final Tracker tracker;
 	boolean testMode = true;
 
 	public TourGuideService(GpsUtil gpsUtil, RewardsService rewardsService) {
+		this(gpsUtil, rewardsService, new TripPricer(), ClusterMembership.singleNode());
+	}
+
+	public TourGuideService(GpsUtil gpsUtil, RewardsService rewardsService, TripPricer tripPricer,
+			ClusterMembership clusterMembership) {
+		this(gpsUtil, rewardsService, tripPricer, clusterMembership, rewardsService.getDependencyLimiters(),
+				TrackerSettings.fromHelpers());
+	}
+
+	@Autowired
+	public TourGuideService(GpsUtil gpsUtil, RewardsService rewardsService, TripPricer tripPricer,
+			ClusterMembership clusterMembership, DependencyLimiters dependencyLimiters,
+			TrackerSettings trackerSettings) {
 		this.gpsUtil = gpsUtil;
+		this.gpsUtilLimiter = dependencyLimiters.getGpsUtil();
+		this.tripPricerLimiter = dependencyLimiters.getTripPricer();
 		this.rewardsService = rewardsService;
+		this.tripPricer = tripPricer;
+		this.clusterMembership = clusterMembership;
+		this.clusterLeaderboard = new ClusterLeaderboard(clusterMembership);
 		
 		Locale.setDefault(Locale.US);
 
@@ -51,7 +80,7 @@ public class TourGuideService {
 			initializeInternalUsers();
 			logger.debug("Finished initializing users");
 		}
-		tracker = new Tracker(this);
+		tracker = new Tracker(this, trackerSettings);
 		addShutDownHook();
 	}
 
@@ -60,11 +89,16 @@ public class TourGuideService {
 	}
 
 	public VisitedLocation getUserLocation(User user) {
-		VisitedLocation visitedLocation = (user.getVisitedLocations().size() > 0) ? user.getLastVisitedLocation()
+		VisitedLocation lastVisitedLocation = user.getLastVisitedLocation();
+		VisitedLocation visitedLocation = (lastVisitedLocation != null) ? lastVisitedLocation
 				: trackUserLocation(user);
 		return visitedLocation;
 	}
 
+	public LocationHistory.Page getLocationHistory(User user, long from, long to, String cursor, int limit) {
+		return user.getLocationHistory().query(from, to, cursor, limit);
+	}
+
 	public User getUser(String userName) {
 		return internalUserMap.get(userName);
 	}
@@ -73,37 +107,71 @@ public class TourGuideService {
 		return internalUserMap.values().stream().collect(Collectors.toList());
 	}
 
+	/**
+	 * Returns the users this node is responsible for tracking. Without a
+	 * cluster configured, that is every user.
+	 */
+	public List<User> getOwnedUsers() {
+		return internalUserMap.values().stream().filter(u -> clusterMembership.isOwnedLocally(u.getUserName()))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Adds a user to this node.
+	 *
+	 * @throws IllegalArgumentException if the user belongs to another node of
+	 *                                  the cluster, which is the only one
+	 *                                  tracking it and serving its requests
+	 */
 	public void addUser(User user) {
+		if (!clusterMembership.isOwnedLocally(user.getUserName())) {
+			throw new IllegalArgumentException("User " + user.getUserName() + " belongs to node "
+					+ clusterMembership.getOwner(user.getUserName()));
+		}
 		if (!internalUserMap.containsKey(user.getUserName())) {
 			internalUserMap.put(user.getUserName(), user);
 		}
 	}
 
 	public List<Provider> getTripDeals(User user) {
-		int cumulatativeRewardPoints = user.getUserRewards().stream().mapToInt(i -> i.getRewardPoints()).sum();
-		List<Provider> providers = tripPricer.getPrice(tripPricerApiKey, user.getUserId(),
+		int cumulatativeRewardPoints = user.getCumulativeRewardPoints();
+		List<Provider> providers = tripPricerLimiter.call(() -> tripPricer.getPrice(tripPricerApiKey, user.getUserId(),
 				user.getUserPreferences().getNumberOfAdults(), user.getUserPreferences().getNumberOfChildren(),
-				user.getUserPreferences().getTripDuration(), cumulatativeRewardPoints);
+				user.getUserPreferences().getTripDuration(), cumulatativeRewardPoints));
 		user.setTripDeals(providers);
 		return providers;
 	}
 
+	/**
+	 * Returns the top users of the whole cluster.
+	 *
+	 * @throws IllegalStateException if another node's ranking cannot be fetched
+	 */
+	public List<RewardsLeaderboard.Entry> getLeaderboard(int limit) {
+		List<RewardsLeaderboard.Entry> localEntries = getLocalLeaderboard(limit);
+		return clusterMembership.isClustered() ? clusterLeaderboard.merge(localEntries, limit) : localEntries;
+	}
+
+	/**
+	 * Returns the top users among the ones owned by this node.
+	 */
+	public List<RewardsLeaderboard.Entry> getLocalLeaderboard(int limit) {
+		return rewardsService.getLeaderboard(limit);
+	}
+
 	public VisitedLocation trackUserLocation(User user) {
-		VisitedLocation visitedLocation = gpsUtil.getUserLocation(user.getUserId());
+		VisitedLocation visitedLocation = gpsUtilLimiter.call(() -> gpsUtil.getUserLocation(user.getUserId()));
 		user.addToVisitedLocations(visitedLocation);
 		rewardsService.calculateRewards(user);
 		return visitedLocation;
 	}
 
 	public List<Attraction> getNearByAttractions(VisitedLocation visitedLocation) {
-		List<Attraction> nearbyAttractions = new ArrayList<>();
-		for (Attraction attraction : gpsUtil.getAttractions()) {
-			if (rewardsService.isWithinAttractionProximity(attraction, visitedLocation.location)) {
-				nearbyAttractions.add(attraction);
-			}
-		}
+		return rewardsService.getNearByAttractions(visitedLocation.location);
+	}
 
-		return nearbyAttractions;
+	public List<Attraction> getNearByAttractions(User user, VisitedLocation visitedLocation) {
+		return rewardsService.getNearByAttractions(visitedLocation.location, user);
 	}
 
 	private void addShutDownHook() {
@@ -129,7 +197,9 @@ public class TourGuideService {
 			String userName = "internalUser" + i;
 			String phone = "000";
 			String email = userName + "@tourGuide.com";
-			User user = new User(UUID.randomUUID(), userName, phone, email);
+			// Derived from the name so a restarted Tracker recognises the users of its checkpoint
+			UUID userId = UUID.nameUUIDFromBytes(userName.getBytes(StandardCharsets.UTF_8));
+			User user = new User(userId, userName, phone, email);
 			generateUserLocationHistory(user);
 
 			internalUserMap.put(userName, user);
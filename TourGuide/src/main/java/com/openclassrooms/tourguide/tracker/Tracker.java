@@ -1,8 +1,12 @@
 package com.openclassrooms.tourguide.tracker;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.time.StopWatch;
@@ -14,23 +18,78 @@ import com.openclassrooms.tourguide.user.User;
 
 public class Tracker extends Thread {
 	private Logger logger = LoggerFactory.getLogger(Tracker.class);
-	private static final long trackingPollingInterval = TimeUnit.MINUTES.toSeconds(5);
 	private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+	private final ExecutorService trackingExecutor;
 	private final TourGuideService tourGuideService;
-	private boolean stop = false;
+	private final TrackerSettings settings;
+	private final TrackerCheckpoint checkpoint;
+	private volatile boolean stop = false;
 
 	public Tracker(TourGuideService tourGuideService) {
+		this(tourGuideService, TrackerSettings.fromHelpers());
+	}
+
+	public Tracker(TourGuideService tourGuideService, TrackerSettings settings) {
 		this.tourGuideService = tourGuideService;
+		this.settings = settings;
+		this.trackingExecutor = settings.newTrackingExecutor();
+		String checkpointFile = settings.getCheckpointFile();
+		this.checkpoint = checkpointFile != null ? TrackerCheckpoint.open(Path.of(checkpointFile))
+				: TrackerCheckpoint.inMemory();
 
 		executorService.submit(this);
 	}
 
 	/**
-	 * Assures to shut down the Tracker thread
+	 * Assures to shut down the Tracker thread. Users not yet started are left
+	 * for the next round, while users being tracked get up to the drain timeout
+	 * to finish before being interrupted. The checkpoint is then closed so a
+	 * restart resumes the round where it stopped.
 	 */
 	public void stopTracking() {
 		stop = true;
+		trackingExecutor.shutdown();
+		try {
+			if (!trackingExecutor.awaitTermination(settings.getDrainTimeoutSeconds(), TimeUnit.SECONDS)) {
+				logger.warn("Tracking still in progress after " + settings.getDrainTimeoutSeconds()
+						+ " seconds, interrupting it");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		trackingExecutor.shutdownNow();
 		executorService.shutdownNow();
+		checkpoint.close();
+	}
+
+	/**
+	 * Tracks every given user as its own task on the tracking executor,
+	 * recording each one in the checkpoint, and waits for the whole round to
+	 * complete.
+	 */
+	public void trackUsers(List<User> users) {
+		CompletableFuture<?>[] tasks = users.stream()
+				.map(u -> CompletableFuture.runAsync(() -> trackUser(u), trackingExecutor))
+				.toArray(CompletableFuture[]::new);
+		try {
+			CompletableFuture.allOf(tasks).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			if (stop) {
+				logger.debug("Tracking interrupted by shutdown");
+			} else {
+				logger.error("Failed to track a user", e.getCause());
+			}
+		}
+	}
+
+	private void trackUser(User user) {
+		if (stop) {
+			return;
+		}
+		tourGuideService.trackUserLocation(user);
+		checkpoint.markTracked(user.getUserId());
 	}
 
 	@Override
@@ -42,16 +101,30 @@ public class Tracker extends Thread {
 				break;
 			}
 
-			List<User> users = tourGuideService.getAllUsers();
+			List<User> users = tourGuideService.getOwnedUsers().stream()
+					.filter(u -> !checkpoint.isTracked(u.getUserId())).toList();
+			if (checkpoint.getTrackedCount() > 0) {
+				logger.debug("Resuming Tracker round, " + checkpoint.getTrackedCount() + " users already tracked.");
+			}
 			logger.debug("Begin Tracker. Tracking " + users.size() + " users.");
 			stopWatch.start();
-			users.forEach(u -> tourGuideService.trackUserLocation(u));
+			try {
+				trackUsers(users);
+			} catch (RejectedExecutionException e) {
+				logger.debug("Tracker stopping");
+				break;
+			}
+			if (stop) {
+				logger.debug("Tracker stopping");
+				break;
+			}
+			checkpoint.completeRound();
 			stopWatch.stop();
 			logger.debug("Tracker Time Elapsed: " + TimeUnit.MILLISECONDS.toSeconds(stopWatch.getTime()) + " seconds.");
 			stopWatch.reset();
 			try {
 				logger.debug("Tracker sleeping");
-				TimeUnit.SECONDS.sleep(trackingPollingInterval);
+				TimeUnit.SECONDS.sleep(settings.getIntervalSeconds());
 			} catch (InterruptedException e) {
 				break;
 			}
@@ -0,0 +1,132 @@
+package com.openclassrooms.tourguide.tracker;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Users already tracked during the current Tracker round.
+ *
+ * When backed by a file, every tracked userId is appended to it and the file
+ * is emptied once a round completes, so a restarted Tracker can resume an
+ * interrupted round instead of starting over from the first user. Writes are
+ * flushed every FLUSH_EVERY users or FLUSH_INTERVAL_MILLIS, whichever comes
+ * first, which bounds what a crash can lose.
+ *
+ * Resuming relies on userIds being the same after a restart. Internal users
+ * get ids derived from their userName, see TourGuideService; users with
+ * random ids are simply tracked again.
+ */
+public class TrackerCheckpoint {
+	private static final int FLUSH_EVERY = 1000;
+	private static final long FLUSH_INTERVAL_MILLIS = 1000;
+	private Logger logger = LoggerFactory.getLogger(TrackerCheckpoint.class);
+	private final Set<UUID> trackedUsers = ConcurrentHashMap.newKeySet();
+	private final Path file;
+	private BufferedWriter writer;
+	private int unflushed = 0;
+	private long lastFlushNanos = System.nanoTime();
+
+	private TrackerCheckpoint(Path file) {
+		this.file = file;
+	}
+
+	public static TrackerCheckpoint inMemory() {
+		return new TrackerCheckpoint(null);
+	}
+
+	/**
+	 * Opens the checkpoint file, loading the users recorded by a previous,
+	 * unfinished round.
+	 */
+	public static TrackerCheckpoint open(Path file) {
+		TrackerCheckpoint checkpoint = new TrackerCheckpoint(file);
+		try {
+			if (Files.exists(file)) {
+				for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+					if (!line.isBlank()) {
+						checkpoint.trackedUsers.add(UUID.fromString(line.trim()));
+					}
+				}
+			}
+			checkpoint.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+					StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to open tracker checkpoint " + file, e);
+		}
+		return checkpoint;
+	}
+
+	public boolean isTracked(UUID userId) {
+		return trackedUsers.contains(userId);
+	}
+
+	public int getTrackedCount() {
+		return trackedUsers.size();
+	}
+
+	public synchronized void markTracked(UUID userId) {
+		if (!trackedUsers.add(userId) || writer == null) {
+			return;
+		}
+		try {
+			writer.write(userId.toString());
+			writer.newLine();
+			if (++unflushed >= FLUSH_EVERY
+					|| System.nanoTime() - lastFlushNanos >= TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS)) {
+				flush();
+			}
+		} catch (IOException e) {
+			logger.error("Unable to write tracker checkpoint", e);
+		}
+	}
+
+	/**
+	 * Starts a new round: forgets every tracked user and empties the file.
+	 */
+	public synchronized void completeRound() {
+		trackedUsers.clear();
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.close();
+			writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING);
+			unflushed = 0;
+		} catch (IOException e) {
+			logger.error("Unable to reset tracker checkpoint", e);
+		}
+	}
+
+	public synchronized void flush() throws IOException {
+		if (writer != null) {
+			writer.flush();
+			unflushed = 0;
+			lastFlushNanos = System.nanoTime();
+		}
+	}
+
+	public synchronized void close() {
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.close();
+		} catch (IOException e) {
+			logger.error("Unable to close tracker checkpoint", e);
+		}
+		writer = null;
+	}
+}
@@ -0,0 +1,56 @@
+package com.openclassrooms.tourguide.tracker;
+
+import java.util.concurrent.ExecutorService;
+
+import com.openclassrooms.tourguide.helper.ConcurrencyHelper;
+import com.openclassrooms.tourguide.helper.TrackerHelper;
+
+/**
+ * Settings of a Tracker, fixed when it is created.
+ */
+public class TrackerSettings {
+	private final boolean virtualThreads;
+	private final int trackerThreads;
+	private final String checkpointFile;
+	private final long drainTimeoutSeconds;
+	private final long intervalSeconds;
+
+	/**
+	 * @param checkpointFile file recording the users tracked in the current
+	 *                       round, or null to keep them in memory only
+	 */
+	public TrackerSettings(boolean virtualThreads, int trackerThreads, String checkpointFile,
+			long drainTimeoutSeconds, long intervalSeconds) {
+		this.virtualThreads = virtualThreads;
+		this.trackerThreads = trackerThreads;
+		this.checkpointFile = checkpointFile;
+		this.drainTimeoutSeconds = drainTimeoutSeconds;
+		this.intervalSeconds = intervalSeconds;
+	}
+
+	/**
+	 * Settings read from ConcurrencyHelper and TrackerHelper, for services
+	 * created outside of the Spring context.
+	 */
+	public static TrackerSettings fromHelpers() {
+		return new TrackerSettings(ConcurrencyHelper.isVirtualThreads(), ConcurrencyHelper.getTrackerThreads(),
+				TrackerHelper.getCheckpointFile(), TrackerHelper.getDrainTimeoutSeconds(),
+				TrackerHelper.getIntervalSeconds());
+	}
+
+	public ExecutorService newTrackingExecutor() {
+		return ConcurrencyHelper.newExecutor(virtualThreads, trackerThreads);
+	}
+
+	public String getCheckpointFile() {
+		return checkpointFile;
+	}
+
+	public long getDrainTimeoutSeconds() {
+		return drainTimeoutSeconds;
+	}
+
+	public long getIntervalSeconds() {
+		return intervalSeconds;
+	}
+}
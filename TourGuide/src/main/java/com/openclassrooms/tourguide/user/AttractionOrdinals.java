@@ -0,0 +1,32 @@
+package com.openclassrooms.tourguide.user;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import gpsUtil.location.Attraction;
+
+/**
+ * Maps attractions to dense integer ordinals so per-user reward bookkeeping
+ * can use bit sets. Attractions are identified by name since gpsUtil hands
+ * out new instances, with new ids, on every call.
+ */
+public class AttractionOrdinals {
+	private static final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+
+	/**
+	 * Assigns ordinals to a whole catalog, in catalog order.
+	 */
+	public static void register(List<Attraction> attractions) {
+		attractions.forEach(AttractionOrdinals::of);
+	}
+
+	public static int of(Attraction attraction) {
+		Integer ordinal = ordinals.get(attraction.attractionName);
+		return ordinal != null ? ordinal : assign(attraction.attractionName);
+	}
+
+	private static synchronized int assign(String attractionName) {
+		return ordinals.computeIfAbsent(attractionName, name -> ordinals.size());
+	}
+}
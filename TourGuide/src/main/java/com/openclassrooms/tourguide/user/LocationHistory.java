@@ -0,0 +1,157 @@
+package com.openclassrooms.tourguide.user;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import gpsUtil.location.VisitedLocation;
+
+/**
+ * Temporal index over a user's visited locations: entries are kept sorted by
+ * visit time (then insertion order) in parallel arrays, so a time window is
+ * found with a binary search instead of a scan over the whole history.
+ *
+ * Pages are chained with an opaque cursor naming the last entry returned,
+ * which stays valid when older locations are inserted in the meantime.
+ */
+public class LocationHistory {
+	private static final int INITIAL_CAPACITY = 8;
+	private long[] times = new long[INITIAL_CAPACITY];
+	private long[] sequences = new long[INITIAL_CAPACITY];
+	private VisitedLocation[] locations = new VisitedLocation[INITIAL_CAPACITY];
+	private int size = 0;
+	private long nextSequence = 0;
+
+	public synchronized void add(VisitedLocation visitedLocation) {
+		if (size == times.length) {
+			int capacity = size * 2;
+			times = Arrays.copyOf(times, capacity);
+			sequences = Arrays.copyOf(sequences, capacity);
+			locations = Arrays.copyOf(locations, capacity);
+		}
+		long time = visitedLocation.timeVisited.getTime();
+		long sequence = nextSequence++;
+		// Locations mostly arrive in time order, making this an append
+		int index = upperBound(time, sequence);
+		int moved = size - index;
+		if (moved > 0) {
+			System.arraycopy(times, index, times, index + 1, moved);
+			System.arraycopy(sequences, index, sequences, index + 1, moved);
+			System.arraycopy(locations, index, locations, index + 1, moved);
+		}
+		times[index] = time;
+		sequences[index] = sequence;
+		locations[index] = visitedLocation;
+		size++;
+	}
+
+	public synchronized void clear() {
+		Arrays.fill(locations, 0, size, null);
+		size = 0;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Returns a snapshot of every location, in time order.
+	 */
+	public synchronized List<VisitedLocation> getLocations() {
+		return List.of(Arrays.copyOf(locations, size));
+	}
+
+	/**
+	 * Returns the most recent location, or null when there is none.
+	 */
+	public synchronized VisitedLocation getLast() {
+		return size > 0 ? locations[size - 1] : null;
+	}
+
+	/**
+	 * Returns up to limit locations visited between from and to, both
+	 * inclusive epoch millis, in time order, starting after the given cursor
+	 * when one is passed.
+	 *
+	 * @throws IllegalArgumentException if the cursor is malformed
+	 */
+	public synchronized Page query(long from, long to, String cursor, int limit) {
+		int start = lowerBound(from, Long.MIN_VALUE);
+		if (cursor != null) {
+			long[] position = parseCursor(cursor);
+			start = Math.max(start, upperBound(position[0], position[1]));
+		}
+		List<VisitedLocation> window = new ArrayList<>();
+		int index = start;
+		while (index < size && times[index] <= to && window.size() < limit) {
+			window.add(locations[index++]);
+		}
+		boolean more = index < size && times[index] <= to;
+		String nextCursor = more && index > 0 ? times[index - 1] + "-" + sequences[index - 1] : null;
+		return new Page(window, nextCursor);
+	}
+
+	// First index whose entry sorts at or after (time, sequence)
+	private int lowerBound(long time, long sequence) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (times[mid] < time || (times[mid] == time && sequences[mid] < sequence)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	// First index whose entry sorts strictly after (time, sequence)
+	private int upperBound(long time, long sequence) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (times[mid] < time || (times[mid] == time && sequences[mid] <= sequence)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static long[] parseCursor(String cursor) {
+		int separator = cursor.lastIndexOf('-');
+		try {
+			if (separator <= 0) {
+				throw new NumberFormatException();
+			}
+			return new long[] { Long.parseLong(cursor.substring(0, separator)),
+					Long.parseLong(cursor.substring(separator + 1)) };
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid cursor " + cursor);
+		}
+	}
+
+	public static class Page {
+		private final List<VisitedLocation> locations;
+		private final String nextCursor;
+
+		public Page(List<VisitedLocation> locations, String nextCursor) {
+			this.locations = locations;
+			this.nextCursor = nextCursor;
+		}
+
+		public List<VisitedLocation> getLocations() {
+			return locations;
+		}
+
+		/**
+		 * Cursor of the next page, or null when this page ends the window.
+		 */
+		public String getNextCursor() {
+			return nextCursor;
+		}
+	}
+}
@@ -1,10 +1,13 @@
 package com.openclassrooms.tourguide.user;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import gpsUtil.location.Attraction;
 import gpsUtil.location.VisitedLocation;
 import tripPricer.Provider;
 
@@ -14,8 +17,11 @@ public class User {
 	private String phoneNumber;
 	private String emailAddress;
 	private Date latestLocationTimestamp;
-	private List<VisitedLocation> visitedLocations = new ArrayList<>();
-	private List<UserReward> userRewards = new ArrayList<>();
+	private final LocationHistory locationHistory = new LocationHistory();
+	private List<UserReward> userRewards = new CopyOnWriteArrayList<>();
+	// Ordinals of the attractions already rewarded, see AttractionOrdinals
+	private final BitSet rewardedAttractions = new BitSet();
+	private volatile int cumulativeRewardPoints;
 	private UserPreferences userPreferences = new UserPreferences();
 	private List<Provider> tripDeals = new ArrayList<>();
 	public User(UUID userId, String userName, String phoneNumber, String emailAddress) {
@@ -58,23 +64,46 @@ public class User {
 	}
 	
 	public void addToVisitedLocations(VisitedLocation visitedLocation) {
-		visitedLocations.add(visitedLocation);
+		locationHistory.add(visitedLocation);
 	}
 	
+	/**
+	 * Returns a snapshot of the visited locations in time order, safe to iterate
+	 * while new locations are added.
+	 */
 	public List<VisitedLocation> getVisitedLocations() {
-		return visitedLocations;
+		return locationHistory.getLocations();
 	}
 	
 	public void clearVisitedLocations() {
-		visitedLocations.clear();
+		locationHistory.clear();
 	}
 	
-	public void addUserReward(UserReward userReward) {
-		if(userRewards.stream().filter(r -> !r.attraction.attractionName.equals(userReward.attraction)).count() == 0) {
+	public LocationHistory getLocationHistory() {
+		return locationHistory;
+	}
+	
+	public synchronized void addUserReward(UserReward userReward) {
+		int ordinal = AttractionOrdinals.of(userReward.attraction);
+		if(!rewardedAttractions.get(ordinal)) {
+			rewardedAttractions.set(ordinal);
 			userRewards.add(userReward);
+			cumulativeRewardPoints += userReward.getRewardPoints();
 		}
 	}
 	
+	/**
+	 * Sum of the reward points of all user rewards, as they were when each
+	 * reward was added.
+	 */
+	public int getCumulativeRewardPoints() {
+		return cumulativeRewardPoints;
+	}
+	
+	public synchronized boolean hasRewardFor(Attraction attraction) {
+		return rewardedAttractions.get(AttractionOrdinals.of(attraction));
+	}
+	
 	public List<UserReward> getUserRewards() {
 		return userRewards;
 	}
@@ -87,8 +116,11 @@ public class User {
 		this.userPreferences = userPreferences;
 	}
 
+	/**
+	 * Returns the most recent visited location, or null when there is none.
+	 */
 	public VisitedLocation getLastVisitedLocation() {
-		return visitedLocations.get(visitedLocations.size() - 1);
+		return locationHistory.getLast();
 	}
 	
 	public void setTripDeals(List<Provider> tripDeals) {
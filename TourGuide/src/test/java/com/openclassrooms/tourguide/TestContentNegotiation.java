@@ -0,0 +1,59 @@
+package com.openclassrooms.tourguide;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.openclassrooms.tourguide.helper.InternalTestHelper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TestContentNegotiation {
+
+	static {
+		// Must be set before the context creates TourGuideService
+		InternalTestHelper.setInternalUserNumber(10);
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	public void cborIsServedWhenAccepted() throws Exception {
+		byte[] body = mockMvc
+				.perform(get("/getLocation").param("userName", "internalUser0").accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk()).andExpect(content().contentType(MediaType.APPLICATION_CBOR)).andReturn()
+				.getResponse().getContentAsByteArray();
+
+		assertIsCompactLocation(new ObjectMapper(new CBORFactory()).readTree(body));
+	}
+
+	@Test
+	public void jsonIsServedByDefault() throws Exception {
+		byte[] body = mockMvc.perform(get("/getLocation").param("userName", "internalUser0"))
+				.andExpect(status().isOk()).andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		assertIsCompactLocation(new ObjectMapper().readTree(body));
+	}
+
+	static void assertIsCompactLocation(JsonNode location) {
+		assertTrue(location.get("latitude").isNumber());
+		assertTrue(location.get("longitude").isNumber());
+		assertTrue(location.get("timeVisited").isNumber());
+		assertFalse(location.has("userId"));
+	}
+
+}
@@ -0,0 +1,275 @@
+package com.openclassrooms.tourguide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import gpsUtil.GpsUtil;
+import gpsUtil.location.Attraction;
+import gpsUtil.location.Location;
+import gpsUtil.location.VisitedLocation;
+import rewardCentral.RewardCentral;
+import com.openclassrooms.tourguide.helper.InternalTestHelper;
+import com.openclassrooms.tourguide.service.RewardsService;
+import tripPricer.Provider;
+import tripPricer.TripPricer;
+
+@Disabled
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = "tourguide.tracker.interval-seconds=${loadtest.trackerIntervalSeconds:0}")
+public class TestLoad {
+
+	/*
+	 * A note on the load test:
+	 *
+	 * Unlike TestPerformance, this test boots the whole application (Tomcat,
+	 * TourGuideController, Jackson) with gpsUtil, RewardCentral and TripPricer
+	 * replaced by stubs, and replays a mix of requests while the Tracker runs.
+	 *
+	 * It is tuned through system properties:
+	 *
+	 * loadtest.users: number of internal users (default 10000)
+	 * loadtest.rps: target requests per second (default 500)
+	 * loadtest.durationSeconds: length of the measured run (default 60)
+	 * loadtest.warmupSeconds: unmeasured traffic sent first (default 10)
+	 * loadtest.mix: endpoint weights (default
+	 * /getLocation=40,/getNearbyAttractions=30,/getRewards=20,/getTripDeals=10)
+	 * loadtest.dependencyLatencyMillis: simulated latency of each stubbed
+	 * dependency call (default 0)
+	 * loadtest.trackerIntervalSeconds: pause between Tracker rounds (default 0,
+	 * rounds run back to back so tracking overlaps the whole measured window)
+	 *
+	 * Requests are issued on a fixed schedule regardless of how fast responses
+	 * come back, and latencies are measured from the time each request was
+	 * meant to be sent, so a stalled server shows up in the percentiles instead
+	 * of silently lowering the request rate (coordinated omission).
+	 *
+	 * Run with -Dspring.profiles.active=reactive to load the WebFlux variant
+	 * instead of the MVC one.
+	 */
+
+	private static final int userNumber = Integer.getInteger("loadtest.users", 10000);
+	private static final int requestsPerSecond = Integer.getInteger("loadtest.rps", 500);
+	private static final int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 60);
+	private static final int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+	private static final String mix = System.getProperty("loadtest.mix",
+			"/getLocation=40,/getNearbyAttractions=30,/getRewards=20,/getTripDeals=10");
+	private static final long dependencyLatencyMillis = Long.getLong("loadtest.dependencyLatencyMillis", 0);
+
+	static {
+		// Must be set before the context creates TourGuideService
+		InternalTestHelper.setInternalUserNumber(userNumber);
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@AfterEach
+	public void resetInternalUserNumber() {
+		InternalTestHelper.setInternalUserNumber(100);
+	}
+
+	@Test
+	public void replayTrafficMix() throws Exception {
+		Map<String, Integer> weights = parseMix(mix);
+		String[] endpoints = weights.keySet().toArray(new String[0]);
+		int[] cumulativeWeights = new int[endpoints.length];
+		int totalWeight = 0;
+		for (int i = 0; i < endpoints.length; i++) {
+			totalWeight += weights.get(endpoints[i]);
+			cumulativeWeights[i] = totalWeight;
+		}
+		Map<String, EndpointStats> stats = new LinkedHashMap<>();
+		for (String endpoint : endpoints) {
+			stats.put(endpoint, new EndpointStats());
+		}
+
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		long warmupRequestNumber = (long) requestsPerSecond * warmupSeconds;
+		long requestNumber = (long) requestsPerSecond * durationSeconds;
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+		List<CompletableFuture<?>> responses = new ArrayList<>();
+
+		long warmupStart = System.nanoTime();
+		long start = warmupStart + warmupRequestNumber * intervalNanos;
+		for (long i = -warmupRequestNumber; i < requestNumber; i++) {
+			long intendedStart = start + i * intervalNanos;
+			long wait = intendedStart - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+
+			int pick = Arrays.binarySearch(cumulativeWeights, ThreadLocalRandom.current().nextInt(totalWeight) + 1);
+			String endpoint = endpoints[pick >= 0 ? pick : -pick - 1];
+			String userName = "internalUser" + ThreadLocalRandom.current().nextInt(userNumber);
+			HttpRequest request = HttpRequest
+					.newBuilder(URI.create("http://localhost:" + port + endpoint + "?userName=" + userName)).build();
+			CompletableFuture<HttpResponse<byte[]>> response = client.sendAsync(request,
+					HttpResponse.BodyHandlers.ofByteArray());
+			if (i >= 0) {
+				EndpointStats endpointStats = stats.get(endpoint);
+				responses.add(response.whenComplete((r, error) -> endpointStats
+						.record(System.nanoTime() - intendedStart, error == null && r.statusCode() == 200)));
+			}
+		}
+		CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0])).handle((r, e) -> null).get();
+		double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.println("replayTrafficMix: " + requestNumber + " requests at " + requestsPerSecond + " rps over "
+				+ userNumber + " users, " + String.format("%.1f", elapsedSeconds) + " seconds.");
+		int errors = 0;
+		for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+			System.out.println(entry.getKey() + ": " + entry.getValue().report(elapsedSeconds));
+			errors += entry.getValue().errors.get();
+		}
+		assertEquals(0, errors);
+	}
+
+	private static Map<String, Integer> parseMix(String mix) {
+		Map<String, Integer> weights = new LinkedHashMap<>();
+		for (String entry : mix.split(",")) {
+			String[] parts = entry.trim().split("=");
+			weights.put(parts[0], Integer.parseInt(parts[1]));
+		}
+		return weights;
+	}
+
+	private static class EndpointStats {
+		private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger errors = new AtomicInteger();
+
+		void record(long latencyNanos, boolean success) {
+			latencies.add(latencyNanos);
+			if (!success) {
+				errors.incrementAndGet();
+			}
+		}
+
+		String report(double elapsedSeconds) {
+			long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+			if (sorted.length == 0) {
+				return "no requests";
+			}
+			return String.format(
+					"%d requests, %d errors, %.1f req/s, p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, p99.9 %.1f ms, max %.1f ms",
+					sorted.length, errors.get(), sorted.length / elapsedSeconds, percentile(sorted, 50),
+					percentile(sorted, 90), percentile(sorted, 99), percentile(sorted, 99.9),
+					sorted[sorted.length - 1] / 1e6);
+		}
+
+		private static double percentile(long[] sorted, double percentile) {
+			int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+			return sorted[Math.max(index, 0)] / 1e6;
+		}
+	}
+
+	/**********************************************************************************
+	 *
+	 * Stubbed dependencies: same contracts, without the random sleeps and rate
+	 * limiting of the real libraries
+	 *
+	 **********************************************************************************/
+	@TestConfiguration
+	static class StubbedDependencies {
+
+		@Bean
+		@Primary
+		public GpsUtil getStubGpsUtil() {
+			return new StubGpsUtil();
+		}
+
+		@Bean
+		@Primary
+		public RewardCentral getStubRewardCentral() {
+			return new StubRewardCentral();
+		}
+
+		@Bean
+		@Primary
+		public TripPricer getStubTripPricer() {
+			return new StubTripPricer();
+		}
+
+		@Bean
+		@Primary
+		public RewardsService getStubRewardsService() {
+			return new RewardsService(getStubGpsUtil(), getStubRewardCentral());
+		}
+	}
+
+	private static void simulateLatency() {
+		if (dependencyLatencyMillis > 0) {
+			try {
+				TimeUnit.MILLISECONDS.sleep(dependencyLatencyMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static class StubGpsUtil extends GpsUtil {
+		private final List<Attraction> attractions = super.getAttractions();
+
+		@Override
+		public VisitedLocation getUserLocation(UUID userId) {
+			simulateLatency();
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			return new VisitedLocation(userId,
+					new Location(random.nextDouble(-85.05112878, 85.05112878), random.nextDouble(-180, 180)), new Date());
+		}
+
+		@Override
+		public List<Attraction> getAttractions() {
+			return new ArrayList<>(attractions);
+		}
+	}
+
+	private static class StubRewardCentral extends RewardCentral {
+		@Override
+		public int getAttractionRewardPoints(UUID attractionId, UUID userId) {
+			simulateLatency();
+			return ThreadLocalRandom.current().nextInt(1, 1000);
+		}
+	}
+
+	private static class StubTripPricer extends TripPricer {
+		@Override
+		public List<Provider> getPrice(String apiKey, UUID attractionId, int adults, int children, int nightsStay,
+				int rewardsPoints) {
+			simulateLatency();
+			List<Provider> providers = new ArrayList<>();
+			for (int i = 0; i < 5; i++) {
+				double price = ThreadLocalRandom.current().nextDouble(100, 1000) * (adults + children / 2.0) * nightsStay;
+				providers.add(new Provider(UUID.randomUUID(), getProviderName(apiKey, i), Math.max(price - rewardsPoints, 0)));
+			}
+			return providers;
+		}
+	}
+
+}
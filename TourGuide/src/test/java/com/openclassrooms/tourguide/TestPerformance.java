@@ -1,11 +1,14 @@
 package com.openclassrooms.tourguide;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.time.StopWatch;
 import org.junit.jupiter.api.Disabled;
@@ -15,6 +18,7 @@ import gpsUtil.GpsUtil;
 import gpsUtil.location.Attraction;
 import gpsUtil.location.VisitedLocation;
 import rewardCentral.RewardCentral;
+import com.openclassrooms.tourguide.helper.ConcurrencyHelper;
 import com.openclassrooms.tourguide.helper.InternalTestHelper;
 import com.openclassrooms.tourguide.service.RewardsService;
 import com.openclassrooms.tourguide.service.TourGuideService;
@@ -102,4 +106,62 @@ public class TestPerformance {
 		assertTrue(TimeUnit.MINUTES.toSeconds(20) >= TimeUnit.MILLISECONDS.toSeconds(stopWatch.getTime()));
 	}
 
+	@Disabled
+	@Test
+	public void compareVirtualAndPlatformThreadsTrackLocation() {
+		boolean virtualThreads = ConcurrencyHelper.isVirtualThreads();
+		int trackerThreads = ConcurrencyHelper.getTrackerThreads();
+		int gpsUtilPermits = ConcurrencyHelper.getGpsUtilPermits();
+		int rewardCentralPermits = ConcurrencyHelper.getRewardCentralPermits();
+		try {
+			// Platform threads are capped by the tracker pool, virtual threads only by
+			// the dependency permits
+			ConcurrencyHelper.setTrackerThreads(100);
+			ConcurrencyHelper.setGpsUtilPermits(1000);
+			ConcurrencyHelper.setRewardCentralPermits(1000);
+
+			for (int userNumber : new int[] { 10000, 50000, 100000 }) {
+				trackUsersWithTracker(userNumber, false);
+			}
+			// Without Java 21 the virtual run would silently use platform threads
+			assumeTrue(ConcurrencyHelper.isVirtualThreadsSupported(), "Virtual threads need Java 21");
+			for (int userNumber : new int[] { 10000, 50000, 100000 }) {
+				trackUsersWithTracker(userNumber, true);
+			}
+		} finally {
+			ConcurrencyHelper.setVirtualThreads(virtualThreads);
+			ConcurrencyHelper.setTrackerThreads(trackerThreads);
+			ConcurrencyHelper.setGpsUtilPermits(gpsUtilPermits);
+			ConcurrencyHelper.setRewardCentralPermits(rewardCentralPermits);
+		}
+	}
+
+	private void trackUsersWithTracker(int userNumber, boolean virtualThreads) {
+		ConcurrencyHelper.setVirtualThreads(virtualThreads);
+		GpsUtil gpsUtil = new GpsUtil();
+		RewardsService rewardsService = new RewardsService(gpsUtil, new RewardCentral());
+		// No internal users, so the Tracker's own first round is empty and it
+		// stays idle while it tracks the users below
+		InternalTestHelper.setInternalUserNumber(0);
+		TourGuideService tourGuideService = new TourGuideService(gpsUtil, rewardsService);
+
+		List<User> allUsers = IntStream.range(0, userNumber)
+				.mapToObj(i -> new User(UUID.randomUUID(), "internalUser" + i, "000", "internalUser" + i + "@tourGuide.com"))
+				.toList();
+
+		StopWatch stopWatch = new StopWatch();
+		stopWatch.start();
+		tourGuideService.tracker.trackUsers(allUsers);
+		stopWatch.stop();
+		tourGuideService.tracker.stopTracking();
+
+		for (User user : allUsers) {
+			assertTrue(user.getVisitedLocations().size() > 0);
+		}
+		System.out.println("compareVirtualAndPlatformThreadsTrackLocation: " + userNumber + " users, "
+				+ (virtualThreads ? "virtual" : "platform") + " threads: Time Elapsed: "
+				+ TimeUnit.MILLISECONDS.toSeconds(stopWatch.getTime()) + " seconds.");
+		assertTrue(TimeUnit.MINUTES.toSeconds(15) >= TimeUnit.MILLISECONDS.toSeconds(stopWatch.getTime()));
+	}
+
 }
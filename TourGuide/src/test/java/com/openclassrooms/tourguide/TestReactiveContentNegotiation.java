@@ -0,0 +1,44 @@
+package com.openclassrooms.tourguide;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.openclassrooms.tourguide.helper.InternalTestHelper;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+public class TestReactiveContentNegotiation {
+
+	static {
+		// Must be set before the context creates TourGuideService
+		InternalTestHelper.setInternalUserNumber(10);
+	}
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Test
+	public void cborIsServedWhenAccepted() throws Exception {
+		byte[] body = webTestClient.get().uri("/getLocation?userName=internalUser0")
+				.accept(MediaType.APPLICATION_CBOR).exchange().expectStatus().isOk().expectHeader()
+				.contentType(MediaType.APPLICATION_CBOR).expectBody().returnResult().getResponseBody();
+
+		TestContentNegotiation.assertIsCompactLocation(new ObjectMapper(new CBORFactory()).readTree(body));
+	}
+
+	@Test
+	public void jsonIsServedByDefault() throws Exception {
+		byte[] body = webTestClient.get().uri("/getLocation?userName=internalUser0").exchange().expectStatus()
+				.isOk().expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON).expectBody()
+				.returnResult().getResponseBody();
+
+		TestContentNegotiation.assertIsCompactLocation(new ObjectMapper().readTree(body));
+	}
+
+}
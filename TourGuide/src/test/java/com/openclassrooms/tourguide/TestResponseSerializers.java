@@ -0,0 +1,62 @@
+package com.openclassrooms.tourguide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import gpsUtil.location.Attraction;
+import gpsUtil.location.Location;
+import gpsUtil.location.VisitedLocation;
+import com.openclassrooms.tourguide.dto.FieldSelection;
+import com.openclassrooms.tourguide.dto.ProviderResponse;
+import com.openclassrooms.tourguide.dto.ResponseSerializers;
+import com.openclassrooms.tourguide.dto.UserRewardResponse;
+import com.openclassrooms.tourguide.dto.VisitedLocationResponse;
+import com.openclassrooms.tourguide.user.UserReward;
+import tripPricer.Provider;
+
+public class TestResponseSerializers {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new ResponseSerializers());
+
+	@Test
+	public void userRewardIsFlattened() throws JsonProcessingException {
+		Attraction attraction = new Attraction("Disneyland", "Anaheim", "CA", 33.817595, -117.922008);
+		VisitedLocation visitedLocation = new VisitedLocation(UUID.randomUUID(), new Location(33.8, -117.9),
+				new Date(1000));
+		UserReward userReward = new UserReward(visitedLocation, attraction, 250);
+
+		String json = objectMapper.writeValueAsString(new UserRewardResponse(userReward, FieldSelection.parse(null)));
+
+		assertEquals("{\"attractionName\":\"Disneyland\",\"city\":\"Anaheim\",\"state\":\"CA\",\"rewardPoints\":250,"
+				+ "\"visitedLatitude\":33.8,\"visitedLongitude\":-117.9,\"timeVisited\":1000}", json);
+	}
+
+	@Test
+	public void visitedLocationIsCompact() throws JsonProcessingException {
+		VisitedLocation visitedLocation = new VisitedLocation(UUID.randomUUID(), new Location(33.8, -117.9),
+				new Date(1000));
+
+		String json = objectMapper
+				.writeValueAsString(new VisitedLocationResponse(visitedLocation, FieldSelection.parse(null)));
+
+		assertEquals("{\"latitude\":33.8,\"longitude\":-117.9,\"timeVisited\":1000}", json);
+	}
+
+	@Test
+	public void fieldsAreProjected() throws JsonProcessingException {
+		Provider provider = new Provider(UUID.randomUUID(), "Holiday Travels", 500.5);
+
+		String json = objectMapper
+				.writeValueAsString(new ProviderResponse(provider, FieldSelection.parse("price, name,unknown")));
+
+		assertEquals("{\"name\":\"Holiday Travels\",\"price\":500.5}", json);
+	}
+
+}
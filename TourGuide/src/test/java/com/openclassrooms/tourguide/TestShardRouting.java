@@ -0,0 +1,154 @@
+package com.openclassrooms.tourguide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.sun.net.httpserver.HttpServer;
+
+import gpsUtil.GpsUtil;
+import gpsUtil.location.VisitedLocation;
+import rewardCentral.RewardCentral;
+import com.openclassrooms.tourguide.cluster.ClusterMembership;
+import com.openclassrooms.tourguide.cluster.ShardRedirectInterceptor;
+import com.openclassrooms.tourguide.helper.InternalTestHelper;
+import com.openclassrooms.tourguide.service.RewardsLeaderboard;
+import com.openclassrooms.tourguide.service.RewardsService;
+import com.openclassrooms.tourguide.service.TourGuideService;
+import com.openclassrooms.tourguide.user.User;
+import tripPricer.TripPricer;
+
+public class TestShardRouting {
+
+	@Test
+	public void requestsForRemoteUsersAreRedirected() throws Exception {
+		ClusterMembership clusterMembership = new ClusterMembership(
+				List.of("http://localhost:8080", "http://localhost:8081"), "http://localhost:8080");
+		InternalTestHelper.setInternalUserNumber(100);
+		TourGuideService tourGuideService = newTourGuideService(clusterMembership);
+		ShardRedirectInterceptor interceptor = new ShardRedirectInterceptor(clusterMembership);
+
+		User remoteUser = tourGuideService.getAllUsers().stream()
+				.filter(u -> !clusterMembership.isOwnedLocally(u.getUserName())).findFirst().get();
+		MockHttpServletResponse remoteResponse = new MockHttpServletResponse();
+		boolean remoteHandled = interceptor.preHandle(getLocationRequest(remoteUser.getUserName()), remoteResponse,
+				null);
+
+		User localUser = tourGuideService.getOwnedUsers().get(0);
+		MockHttpServletResponse localResponse = new MockHttpServletResponse();
+		boolean localHandled = interceptor.preHandle(getLocationRequest(localUser.getUserName()), localResponse, null);
+
+		String unknownUserName = newUserName("unknown", clusterMembership, false);
+		MockHttpServletResponse unknownResponse = new MockHttpServletResponse();
+		boolean unknownHandled = interceptor.preHandle(getLocationRequest(unknownUserName), unknownResponse, null);
+
+		assertFalse(remoteHandled);
+		assertEquals(307, remoteResponse.getStatus());
+		assertEquals("http://localhost:8081/getLocation?userName=" + remoteUser.getUserName(),
+				remoteResponse.getHeader("Location"));
+		assertTrue(localHandled);
+		assertEquals(200, localResponse.getStatus());
+		assertFalse(unknownHandled);
+		assertEquals("http://localhost:8081/getLocation?userName=" + unknownUserName,
+				unknownResponse.getHeader("Location"));
+	}
+
+	@Test
+	public void addUserRejectsUsersOfOtherNodes() {
+		ClusterMembership clusterMembership = new ClusterMembership(
+				List.of("http://localhost:8080", "http://localhost:8081"), "http://localhost:8080");
+		InternalTestHelper.setInternalUserNumber(0);
+		TourGuideService tourGuideService = newTourGuideService(clusterMembership);
+
+		User localUser = newUser("jon", clusterMembership, true);
+		User remoteUser = newUser("jane", clusterMembership, false);
+		tourGuideService.addUser(localUser);
+
+		assertThrows(IllegalArgumentException.class, () -> tourGuideService.addUser(remoteUser));
+		assertEquals(localUser, tourGuideService.getUser(localUser.getUserName()));
+		assertNull(tourGuideService.getUser(remoteUser.getUserName()));
+	}
+
+	@Test
+	public void leaderboardMergesOtherNodes() throws IOException {
+		HttpServer otherNode = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		otherNode.createContext("/getLeaderboard", exchange -> {
+			byte[] body = "[{\"userName\":\"remoteHigh\",\"rewardPoints\":5000},{\"userName\":\"remoteLow\",\"rewardPoints\":0}]"
+					.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(exchange.getRequestURI().getQuery().contains("local=true") ? 200 : 400,
+					body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		otherNode.start();
+		String otherNodeUrl = "http://localhost:" + otherNode.getAddress().getPort();
+		ClusterMembership clusterMembership = new ClusterMembership(List.of("http://localhost:8080", otherNodeUrl),
+				"http://localhost:8080");
+		GpsUtil gpsUtil = new GpsUtil();
+		RewardsService rewardsService = new RewardsService(gpsUtil, new RewardCentral());
+		InternalTestHelper.setInternalUserNumber(0);
+		TourGuideService tourGuideService = new TourGuideService(gpsUtil, rewardsService, new TripPricer(),
+				clusterMembership);
+		tourGuideService.tracker.stopTracking();
+
+		User user = newUser("jon", clusterMembership, true);
+		user.addToVisitedLocations(new VisitedLocation(user.getUserId(), gpsUtil.getAttractions().get(0), new Date()));
+		tourGuideService.addUser(user);
+		rewardsService.calculateRewards(user);
+
+		List<RewardsLeaderboard.Entry> leaderboard;
+		try {
+			leaderboard = tourGuideService.getLeaderboard(10);
+		} finally {
+			otherNode.stop(0);
+		}
+
+		assertEquals(List.of("remoteHigh", user.getUserName(), "remoteLow"),
+				leaderboard.stream().map(RewardsLeaderboard.Entry::getUserName).toList());
+		assertEquals(1, tourGuideService.getLocalLeaderboard(10).size());
+		assertThrows(IllegalStateException.class, () -> tourGuideService.getLeaderboard(10));
+	}
+
+	private static TourGuideService newTourGuideService(ClusterMembership clusterMembership) {
+		GpsUtil gpsUtil = new GpsUtil();
+		TourGuideService tourGuideService = new TourGuideService(gpsUtil,
+				new RewardsService(gpsUtil, new RewardCentral()), new TripPricer(), clusterMembership);
+		tourGuideService.tracker.stopTracking();
+		return tourGuideService;
+	}
+
+	private static MockHttpServletRequest getLocationRequest(String userName) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/getLocation");
+		request.setParameter("userName", userName);
+		request.setQueryString("userName=" + userName);
+		return request;
+	}
+
+	private static User newUser(String prefix, ClusterMembership clusterMembership, boolean ownedLocally) {
+		String userName = newUserName(prefix, clusterMembership, ownedLocally);
+		return new User(UUID.randomUUID(), userName, "000", userName + "@tourGuide.com");
+	}
+
+	private static String newUserName(String prefix, ClusterMembership clusterMembership, boolean ownedLocally) {
+		int suffix = 0;
+		while (clusterMembership.isOwnedLocally(prefix + suffix) != ownedLocally) {
+			suffix++;
+		}
+		return prefix + suffix;
+	}
+}
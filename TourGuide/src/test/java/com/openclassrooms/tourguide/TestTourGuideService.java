@@ -1,8 +1,10 @@
 package com.openclassrooms.tourguide;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,13 +13,17 @@ import org.junit.jupiter.api.Test;
 
 import gpsUtil.GpsUtil;
 import gpsUtil.location.Attraction;
+import gpsUtil.location.Location;
 import gpsUtil.location.VisitedLocation;
 import rewardCentral.RewardCentral;
+import com.openclassrooms.tourguide.cluster.ClusterMembership;
 import com.openclassrooms.tourguide.helper.InternalTestHelper;
 import com.openclassrooms.tourguide.service.RewardsService;
 import com.openclassrooms.tourguide.service.TourGuideService;
+import com.openclassrooms.tourguide.user.LocationHistory;
 import com.openclassrooms.tourguide.user.User;
 import tripPricer.Provider;
+import tripPricer.TripPricer;
 
 public class TestTourGuideService {
 
@@ -110,6 +116,76 @@ public class TestTourGuideService {
 		assertEquals(5, attractions.size());
 	}
 
+	@Test
+	public void getNearbyAttractionsWithinUserProximity() {
+		GpsUtil gpsUtil = new GpsUtil();
+		RewardsService rewardsService = new RewardsService(gpsUtil, new RewardCentral());
+		InternalTestHelper.setInternalUserNumber(0);
+		TourGuideService tourGuideService = new TourGuideService(gpsUtil, rewardsService);
+
+		User user = new User(UUID.randomUUID(), "jon", "000", "jon@tourGuide.com");
+		Attraction attraction = gpsUtil.getAttractions().get(0);
+		VisitedLocation visitedLocation = new VisitedLocation(user.getUserId(), attraction, new Date());
+
+		List<Attraction> defaultRange = tourGuideService.getNearByAttractions(user, visitedLocation);
+		user.getUserPreferences().setAttractionProximity(1);
+		List<Attraction> ownRange = tourGuideService.getNearByAttractions(user, visitedLocation);
+
+		tourGuideService.tracker.stopTracking();
+
+		assertEquals(tourGuideService.getNearByAttractions(visitedLocation).size(), defaultRange.size());
+		assertEquals(1, ownRange.size());
+		assertEquals(attraction.attractionName, ownRange.get(0).attractionName);
+	}
+
+	@Test
+	public void getOwnedUsersOfClusterNode() {
+		GpsUtil gpsUtil = new GpsUtil();
+		RewardsService rewardsService = new RewardsService(gpsUtil, new RewardCentral());
+		InternalTestHelper.setInternalUserNumber(100);
+		List<String> nodes = List.of("http://localhost:8080", "http://localhost:8081");
+		ClusterMembership clusterMembership = new ClusterMembership(nodes, "http://localhost:8080/");
+		TourGuideService tourGuideService = new TourGuideService(gpsUtil, rewardsService, new TripPricer(),
+				clusterMembership);
+		tourGuideService.tracker.stopTracking();
+
+		List<User> ownedUsers = tourGuideService.getOwnedUsers();
+		ClusterMembership otherNode = new ClusterMembership(nodes, "http://localhost:8081");
+		long ownedByOtherNode = tourGuideService.getAllUsers().stream()
+				.filter(u -> otherNode.isOwnedLocally(u.getUserName())).count();
+
+		assertTrue(ownedUsers.size() > 0 && ownedByOtherNode > 0);
+		assertEquals(100, ownedUsers.size() + ownedByOtherNode);
+		for (User user : ownedUsers) {
+			assertEquals("http://localhost:8080", otherNode.getOwner(user.getUserName()));
+		}
+	}
+
+	@Test
+	public void getLocationHistoryWindowIsPaginated() {
+		GpsUtil gpsUtil = new GpsUtil();
+		RewardsService rewardsService = new RewardsService(gpsUtil, new RewardCentral());
+		InternalTestHelper.setInternalUserNumber(0);
+		TourGuideService tourGuideService = new TourGuideService(gpsUtil, rewardsService);
+		tourGuideService.tracker.stopTracking();
+
+		User user = new User(UUID.randomUUID(), "jon", "000", "jon@tourGuide.com");
+		// Added out of order: the history must still come back sorted by time
+		for (long time : new long[] { 5000, 1000, 3000, 2000, 4000, 6000 }) {
+			user.addToVisitedLocations(new VisitedLocation(user.getUserId(), new Location(0, 0), new Date(time)));
+		}
+
+		LocationHistory.Page firstPage = tourGuideService.getLocationHistory(user, 2000, 5000, null, 2);
+		LocationHistory.Page secondPage = tourGuideService.getLocationHistory(user, 2000, 5000,
+				firstPage.getNextCursor(), 2);
+
+		assertEquals(List.of(2000L, 3000L),
+				firstPage.getLocations().stream().map(v -> v.timeVisited.getTime()).toList());
+		assertEquals(List.of(4000L, 5000L),
+				secondPage.getLocations().stream().map(v -> v.timeVisited.getTime()).toList());
+		assertNull(secondPage.getNextCursor());
+	}
+
 	public void getTripDeals() {
 		GpsUtil gpsUtil = new GpsUtil();
 		RewardsService rewardsService = new RewardsService(gpsUtil, new RewardCentral());
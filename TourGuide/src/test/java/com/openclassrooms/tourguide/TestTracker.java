@@ -0,0 +1,123 @@
+package com.openclassrooms.tourguide;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import gpsUtil.GpsUtil;
+import gpsUtil.location.Location;
+import gpsUtil.location.VisitedLocation;
+import rewardCentral.RewardCentral;
+import com.openclassrooms.tourguide.helper.ConcurrencyHelper;
+import com.openclassrooms.tourguide.helper.InternalTestHelper;
+import com.openclassrooms.tourguide.helper.TrackerHelper;
+import com.openclassrooms.tourguide.service.RewardsService;
+import com.openclassrooms.tourguide.service.TourGuideService;
+import com.openclassrooms.tourguide.tracker.TrackerCheckpoint;
+import com.openclassrooms.tourguide.user.User;
+
+public class TestTracker {
+
+	@Test
+	public void checkpointSurvivesRestart() throws IOException {
+		Path file = Files.createTempFile("tracker-checkpoint", ".txt");
+		UUID trackedUser = UUID.randomUUID();
+		UUID otherUser = UUID.randomUUID();
+
+		TrackerCheckpoint checkpoint = TrackerCheckpoint.open(file);
+		checkpoint.markTracked(trackedUser);
+		checkpoint.close();
+
+		TrackerCheckpoint resumed = TrackerCheckpoint.open(file);
+		assertTrue(resumed.isTracked(trackedUser));
+		assertFalse(resumed.isTracked(otherUser));
+		assertEquals(1, resumed.getTrackedCount());
+
+		resumed.completeRound();
+		resumed.close();
+		TrackerCheckpoint nextRound = TrackerCheckpoint.open(file);
+		nextRound.close();
+		Files.delete(file);
+
+		assertEquals(0, nextRound.getTrackedCount());
+	}
+
+	@Test
+	public void stoppedRoundResumesWhereItStopped() throws Exception {
+		Path file = Files.createTempFile("tracker-checkpoint", ".txt");
+		TrackerHelper.setCheckpointFile(file.toString());
+		ConcurrencyHelper.setTrackerThreads(2);
+		InternalTestHelper.setInternalUserNumber(20);
+		try {
+			SlowGpsUtil firstGpsUtil = new SlowGpsUtil();
+			TourGuideService firstNode = new TourGuideService(firstGpsUtil,
+					new RewardsService(firstGpsUtil, new RewardCentral()));
+			// Stop in the middle of the first round
+			while (firstGpsUtil.requestedUsers.isEmpty()) {
+				TimeUnit.MILLISECONDS.sleep(10);
+			}
+			firstNode.tracker.stopTracking();
+
+			Set<UUID> trackedBeforeStop = new HashSet<>(firstGpsUtil.requestedUsers);
+			Set<UUID> recorded = Files.readAllLines(file).stream().map(UUID::fromString).collect(Collectors.toSet());
+			// Users in flight were allowed to finish, the others were not started
+			for (User user : firstNode.getAllUsers()) {
+				boolean tracked = trackedBeforeStop.contains(user.getUserId());
+				assertEquals(tracked ? 4 : 3, user.getVisitedLocations().size());
+			}
+			assertEquals(trackedBeforeStop, recorded);
+			assertTrue(trackedBeforeStop.size() < 20);
+
+			SlowGpsUtil secondGpsUtil = new SlowGpsUtil();
+			TourGuideService secondNode = new TourGuideService(secondGpsUtil,
+					new RewardsService(secondGpsUtil, new RewardCentral()));
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+			while (trackedBeforeStop.size() + secondGpsUtil.requestedUsers.size() < 20 && System.nanoTime() < deadline) {
+				TimeUnit.MILLISECONDS.sleep(10);
+			}
+			secondNode.tracker.stopTracking();
+
+			// The restarted Tracker only tracked the users the first one had left
+			Set<UUID> allUsers = secondNode.getAllUsers().stream().map(User::getUserId).collect(Collectors.toSet());
+			Set<UUID> resumedUsers = new HashSet<>(allUsers);
+			resumedUsers.removeAll(trackedBeforeStop);
+			assertEquals(resumedUsers, new HashSet<>(secondGpsUtil.requestedUsers));
+			assertEquals(resumedUsers.size(), secondGpsUtil.requestedUsers.size());
+		} finally {
+			TrackerHelper.setCheckpointFile(null);
+			ConcurrencyHelper.setTrackerThreads(100);
+			Files.delete(file);
+		}
+	}
+
+	private static class SlowGpsUtil extends GpsUtil {
+		private final Queue<UUID> requestedUsers = new ConcurrentLinkedQueue<>();
+
+		@Override
+		public VisitedLocation getUserLocation(UUID userId) {
+			try {
+				TimeUnit.MILLISECONDS.sleep(200);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			requestedUsers.add(userId);
+			// In the middle of the Pacific, away from every attraction
+			return new VisitedLocation(userId, new Location(0, -150), new Date());
+		}
+	}
+
+}